@@ -8,7 +8,7 @@ public class RandomConfig {
 
     @Bean
     public Random random() {
-        return new Random();
+        // snapshotable so the RNG position survives a snapshot/restore cycle
+        return new SnapshotableRandom();
     }
 }
-
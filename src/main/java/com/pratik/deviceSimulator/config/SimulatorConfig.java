@@ -4,6 +4,7 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
 import java.util.List;
 
 @Component
@@ -14,6 +15,464 @@ public class SimulatorConfig {
     private List<String> sensorTypes;
     private String targetUrl;
     private String websocketUrl;
+    private long dataPushInterval = 5000;
+    private String batchTargetUrl; // optional override, defaults to target-url + "/batch"
+    private List<Profile> profiles = new ArrayList<>();
+    private String snapshotPath = "simulator-snapshot.bin";
+    private boolean snapshotLoadOnStartup = true;
+    private StartupMode startupMode = StartupMode.BLOCKING;
+    private int registrationParallelism = 8;
+    private long analyserProbeIntervalMs = 5000;
+    private int analyserProbeTimeoutMs = 2000;
+    private int statsTopKCapacity = 1024;
+    private ExecutionMode executionMode = ExecutionMode.PLATFORM;
+    private int sendParallelism = 4;
+    private int maxConcurrentSends = 1000;
+    private TransportType transport = TransportType.REST;
+    private boolean stompMirrorEnabled = true;
+    private long logSummaryIntervalMs = 5000;
+    private int logSamplerMaxKeys = 256;
+    private Mqtt mqtt = new Mqtt();
+    private Verification verification = new Verification();
+    private Report report = new Report();
+    private List<Impairment> impairments = new ArrayList<>();
+    private long impairmentTickMs = 1;
+
+    /**
+     * BLOCKING waits for the analyser and registers every device inside init();
+     * ASYNC lets the context start immediately and registers devices in the background.
+     */
+    public enum StartupMode {
+        BLOCKING, ASYNC
+    }
+
+    /**
+     * PLATFORM runs device work on a fixed pool of simulator.send-parallelism threads;
+     * VIRTUAL (Java 21+) gives every device task its own virtual thread.
+     */
+    public enum ExecutionMode {
+        PLATFORM, VIRTUAL
+    }
+
+    /** Transport pushSensorData hands readings to. */
+    public enum TransportType {
+        REST, STOMP, MQTT
+    }
+
+    /**
+     * One device class in the fleet mix (simulator.profiles[n].*). Devices are assigned to
+     * profiles in proportion to their weights; with no profiles configured every device uses
+     * simulator.sensor-types and the default rates, as before.
+     */
+    public static class Profile {
+
+        private String name;
+        private double weight = 1.0;
+        private List<String> sensorTypes = new ArrayList<>();
+        private String deviceType; // registered device type, defaults to the first sensor type
+        private long reportIntervalMs = 0; // 0 = every simulator.data-push-interval tick
+        private int payloadBytes = 0; // filler added to each message on top of the readings
+        private boolean grouped = true; // multi-sensor devices send all readings in one message
+        private double disconnectProbability = 0.1;
+        private double reconnectProbability = 0.5;
+        private double anomalyProbability = 0.05;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public double getWeight() {
+            return weight;
+        }
+
+        public void setWeight(double weight) {
+            if (weight < 0) {
+                throw new IllegalArgumentException("simulator.profiles[].weight must not be negative");
+            }
+            this.weight = weight;
+        }
+
+        public List<String> getSensorTypes() {
+            return sensorTypes;
+        }
+
+        public void setSensorTypes(List<String> sensorTypes) {
+            this.sensorTypes = sensorTypes;
+        }
+
+        public String getDeviceType() {
+            return deviceType;
+        }
+
+        public void setDeviceType(String deviceType) {
+            this.deviceType = deviceType;
+        }
+
+        public long getReportIntervalMs() {
+            return reportIntervalMs;
+        }
+
+        public void setReportIntervalMs(long reportIntervalMs) {
+            this.reportIntervalMs = reportIntervalMs;
+        }
+
+        public int getPayloadBytes() {
+            return payloadBytes;
+        }
+
+        public void setPayloadBytes(int payloadBytes) {
+            this.payloadBytes = payloadBytes;
+        }
+
+        public boolean isGrouped() {
+            return grouped;
+        }
+
+        public void setGrouped(boolean grouped) {
+            this.grouped = grouped;
+        }
+
+        public double getDisconnectProbability() {
+            return disconnectProbability;
+        }
+
+        public void setDisconnectProbability(double disconnectProbability) {
+            this.disconnectProbability = disconnectProbability;
+        }
+
+        public double getReconnectProbability() {
+            return reconnectProbability;
+        }
+
+        public void setReconnectProbability(double reconnectProbability) {
+            this.reconnectProbability = reconnectProbability;
+        }
+
+        public double getAnomalyProbability() {
+            return anomalyProbability;
+        }
+
+        public void setAnomalyProbability(double anomalyProbability) {
+            this.anomalyProbability = anomalyProbability;
+        }
+    }
+
+    /** simulator.verification.* settings for end-to-end loss/duplication/latency accounting. */
+    public static class Verification {
+
+        public enum Source {
+            STOMP, SINK
+        }
+
+        private Source source = Source.STOMP;
+        private String topic = "/topic/sensorData";
+        private boolean sinkEnabled = false;
+
+        public Source getSource() {
+            return source;
+        }
+
+        public void setSource(Source source) {
+            this.source = source;
+        }
+
+        public String getTopic() {
+            return topic;
+        }
+
+        public void setTopic(String topic) {
+            this.topic = topic;
+        }
+
+        public boolean isSinkEnabled() {
+            return sinkEnabled;
+        }
+
+        public void setSinkEnabled(boolean sinkEnabled) {
+            this.sinkEnabled = sinkEnabled;
+        }
+    }
+
+    /**
+     * One network-impairment rule (simulator.impairments[n].*), applied by the transport to the
+     * devices of the listed profiles (all devices when empty), or a deterministic
+     * device-fraction of them. The first matching rule wins.
+     */
+    public static class Impairment {
+
+        public enum DelayDistribution {
+            FIXED, UNIFORM, NORMAL, EXPONENTIAL, PARETO
+        }
+
+        private String name;
+        private List<String> profiles = new ArrayList<>();
+        private double deviceFraction = 1.0;
+        private DelayDistribution delayDistribution = DelayDistribution.FIXED;
+        private long delayMs = 0; // fixed value, mean, or Pareto scale
+        private long delayJitterMs = 0; // UNIFORM half-width, NORMAL standard deviation
+        private double delayShape = 2.0; // Pareto alpha; smaller means a heavier tail
+        private double dropProbability = 0;
+        private double duplicateProbability = 0;
+        private long reorderWindowMs = 0; // extra random hold, lets later messages overtake
+        private long clockSkewMs = 0; // per-device fixed offset, drawn from +/- this; timestamp has 1 s resolution
+        private double clockDriftPpm = 0; // per-device drift rate, drawn from +/- this
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public List<String> getProfiles() {
+            return profiles;
+        }
+
+        public void setProfiles(List<String> profiles) {
+            this.profiles = profiles;
+        }
+
+        public double getDeviceFraction() {
+            return deviceFraction;
+        }
+
+        public void setDeviceFraction(double deviceFraction) {
+            this.deviceFraction = deviceFraction;
+        }
+
+        public DelayDistribution getDelayDistribution() {
+            return delayDistribution;
+        }
+
+        public void setDelayDistribution(DelayDistribution delayDistribution) {
+            this.delayDistribution = delayDistribution;
+        }
+
+        public long getDelayMs() {
+            return delayMs;
+        }
+
+        public void setDelayMs(long delayMs) {
+            this.delayMs = delayMs;
+        }
+
+        public long getDelayJitterMs() {
+            return delayJitterMs;
+        }
+
+        public void setDelayJitterMs(long delayJitterMs) {
+            this.delayJitterMs = delayJitterMs;
+        }
+
+        public double getDelayShape() {
+            return delayShape;
+        }
+
+        public void setDelayShape(double delayShape) {
+            if (delayShape <= 0) {
+                throw new IllegalArgumentException("simulator.impairments[].delay-shape must be positive");
+            }
+            this.delayShape = delayShape;
+        }
+
+        public double getDropProbability() {
+            return dropProbability;
+        }
+
+        public void setDropProbability(double dropProbability) {
+            this.dropProbability = dropProbability;
+        }
+
+        public double getDuplicateProbability() {
+            return duplicateProbability;
+        }
+
+        public void setDuplicateProbability(double duplicateProbability) {
+            this.duplicateProbability = duplicateProbability;
+        }
+
+        public long getReorderWindowMs() {
+            return reorderWindowMs;
+        }
+
+        public void setReorderWindowMs(long reorderWindowMs) {
+            this.reorderWindowMs = reorderWindowMs;
+        }
+
+        public long getClockSkewMs() {
+            return clockSkewMs;
+        }
+
+        public void setClockSkewMs(long clockSkewMs) {
+            this.clockSkewMs = clockSkewMs;
+        }
+
+        public double getClockDriftPpm() {
+            return clockDriftPpm;
+        }
+
+        public void setClockDriftPpm(double clockDriftPpm) {
+            this.clockDriftPpm = clockDriftPpm;
+        }
+    }
+
+    /** simulator.report.* settings for persisted run reports and baseline comparison. */
+    public static class Report {
+
+        private boolean enabled = true;
+        private String directory = "reports";
+        private String scenario = "default";
+        private int bucketSeconds = 10;
+        private int maxBuckets = 4320; // 12 h at 10 s of JSON bucket summaries, merged pairwise beyond this; the .hlog keeps all
+        private double regressionThresholdPercent = 10.0;
+        private String baseline; // report id compared against at the end of every run
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public String getDirectory() {
+            return directory;
+        }
+
+        public void setDirectory(String directory) {
+            this.directory = directory;
+        }
+
+        public String getScenario() {
+            return scenario;
+        }
+
+        public void setScenario(String scenario) {
+            this.scenario = scenario;
+        }
+
+        public int getBucketSeconds() {
+            return bucketSeconds;
+        }
+
+        public void setBucketSeconds(int bucketSeconds) {
+            this.bucketSeconds = bucketSeconds;
+        }
+
+        public int getMaxBuckets() {
+            return maxBuckets;
+        }
+
+        public void setMaxBuckets(int maxBuckets) {
+            this.maxBuckets = maxBuckets;
+        }
+
+        public double getRegressionThresholdPercent() {
+            return regressionThresholdPercent;
+        }
+
+        public void setRegressionThresholdPercent(double regressionThresholdPercent) {
+            this.regressionThresholdPercent = regressionThresholdPercent;
+        }
+
+        public String getBaseline() {
+            return baseline;
+        }
+
+        public void setBaseline(String baseline) {
+            this.baseline = baseline;
+        }
+    }
+
+    /** simulator.mqtt.* settings, used when simulator.transport=MQTT. */
+    public static class Mqtt {
+
+        public enum SessionMode {
+            SHARED, PER_DEVICE
+        }
+
+        private String brokerUrl = "tcp://localhost:1883";
+        private String topicTemplate = "devices/{id}/{sensorType}";
+        private int qos = 0;
+        private SessionMode sessionMode = SessionMode.SHARED;
+        private int sharedConnections = 4;
+        private String clientIdPrefix = "simulator-";
+        private int maxInflight = 1000;
+        private long connectTimeoutMs = 5000;
+
+        public String getBrokerUrl() {
+            return brokerUrl;
+        }
+
+        public void setBrokerUrl(String brokerUrl) {
+            this.brokerUrl = brokerUrl;
+        }
+
+        public String getTopicTemplate() {
+            return topicTemplate;
+        }
+
+        public void setTopicTemplate(String topicTemplate) {
+            this.topicTemplate = topicTemplate;
+        }
+
+        public int getQos() {
+            return qos;
+        }
+
+        public void setQos(int qos) {
+            if (qos < 0 || qos > 1) {
+                throw new IllegalArgumentException("simulator.mqtt.qos must be 0 or 1");
+            }
+            this.qos = qos;
+        }
+
+        public SessionMode getSessionMode() {
+            return sessionMode;
+        }
+
+        public void setSessionMode(SessionMode sessionMode) {
+            this.sessionMode = sessionMode;
+        }
+
+        public int getSharedConnections() {
+            return sharedConnections;
+        }
+
+        public void setSharedConnections(int sharedConnections) {
+            this.sharedConnections = sharedConnections;
+        }
+
+        public String getClientIdPrefix() {
+            return clientIdPrefix;
+        }
+
+        public void setClientIdPrefix(String clientIdPrefix) {
+            this.clientIdPrefix = clientIdPrefix;
+        }
+
+        public int getMaxInflight() {
+            return maxInflight;
+        }
+
+        public void setMaxInflight(int maxInflight) {
+            this.maxInflight = maxInflight;
+        }
+
+        public long getConnectTimeoutMs() {
+            return connectTimeoutMs;
+        }
+
+        public void setConnectTimeoutMs(long connectTimeoutMs) {
+            this.connectTimeoutMs = connectTimeoutMs;
+        }
+    }
+
     public SimulatorConfig() {
     }
 
@@ -27,6 +486,11 @@ public class SimulatorConfig {
     public String getDeviceRegistrationUrl() { return deviceRegistrationUrl; }
     public void setDeviceRegistrationUrl(String deviceRegistrationUrl) { this.deviceRegistrationUrl = deviceRegistrationUrl; }
 
+    private String analyserHealthUrl; // optional override
+
+    public String getAnalyserHealthUrl() { return analyserHealthUrl; }
+    public void setAnalyserHealthUrl(String analyserHealthUrl) { this.analyserHealthUrl = analyserHealthUrl; }
+
     public String getTargetUrl() {
         return targetUrl;
     }
@@ -51,6 +515,30 @@ public class SimulatorConfig {
         this.sensorTypes = sensorTypes;
     }
 
+    public long getDataPushInterval() {
+        return dataPushInterval;
+    }
+
+    public void setDataPushInterval(long dataPushInterval) {
+        this.dataPushInterval = dataPushInterval;
+    }
+
+    public String getBatchTargetUrl() {
+        return batchTargetUrl;
+    }
+
+    public void setBatchTargetUrl(String batchTargetUrl) {
+        this.batchTargetUrl = batchTargetUrl;
+    }
+
+    public List<Profile> getProfiles() {
+        return profiles;
+    }
+
+    public void setProfiles(List<Profile> profiles) {
+        this.profiles = profiles;
+    }
+
     public String getWebsocketUrl() {
         return websocketUrl;
     }
@@ -58,4 +546,156 @@ public class SimulatorConfig {
     public void setWebsocketUrl(String websocketUrl) {
         this.websocketUrl = websocketUrl;
     }
+
+    public String getSnapshotPath() {
+        return snapshotPath;
+    }
+
+    public void setSnapshotPath(String snapshotPath) {
+        this.snapshotPath = snapshotPath;
+    }
+
+    public boolean isSnapshotLoadOnStartup() {
+        return snapshotLoadOnStartup;
+    }
+
+    public void setSnapshotLoadOnStartup(boolean snapshotLoadOnStartup) {
+        this.snapshotLoadOnStartup = snapshotLoadOnStartup;
+    }
+
+    public StartupMode getStartupMode() {
+        return startupMode;
+    }
+
+    public void setStartupMode(StartupMode startupMode) {
+        this.startupMode = startupMode;
+    }
+
+    public int getRegistrationParallelism() {
+        return registrationParallelism;
+    }
+
+    public void setRegistrationParallelism(int registrationParallelism) {
+        this.registrationParallelism = registrationParallelism;
+    }
+
+    public long getAnalyserProbeIntervalMs() {
+        return analyserProbeIntervalMs;
+    }
+
+    public void setAnalyserProbeIntervalMs(long analyserProbeIntervalMs) {
+        this.analyserProbeIntervalMs = analyserProbeIntervalMs;
+    }
+
+    public int getAnalyserProbeTimeoutMs() {
+        return analyserProbeTimeoutMs;
+    }
+
+    public void setAnalyserProbeTimeoutMs(int analyserProbeTimeoutMs) {
+        this.analyserProbeTimeoutMs = analyserProbeTimeoutMs;
+    }
+
+    public int getStatsTopKCapacity() {
+        return statsTopKCapacity;
+    }
+
+    public void setStatsTopKCapacity(int statsTopKCapacity) {
+        this.statsTopKCapacity = statsTopKCapacity;
+    }
+
+    public long getLogSummaryIntervalMs() {
+        return logSummaryIntervalMs;
+    }
+
+    public void setLogSummaryIntervalMs(long logSummaryIntervalMs) {
+        this.logSummaryIntervalMs = logSummaryIntervalMs;
+    }
+
+    public int getLogSamplerMaxKeys() {
+        return logSamplerMaxKeys;
+    }
+
+    public void setLogSamplerMaxKeys(int logSamplerMaxKeys) {
+        this.logSamplerMaxKeys = logSamplerMaxKeys;
+    }
+
+    public ExecutionMode getExecutionMode() {
+        return executionMode;
+    }
+
+    public void setExecutionMode(ExecutionMode executionMode) {
+        this.executionMode = executionMode;
+    }
+
+    public int getSendParallelism() {
+        return sendParallelism;
+    }
+
+    public void setSendParallelism(int sendParallelism) {
+        this.sendParallelism = sendParallelism;
+    }
+
+    public int getMaxConcurrentSends() {
+        return maxConcurrentSends;
+    }
+
+    public void setMaxConcurrentSends(int maxConcurrentSends) {
+        this.maxConcurrentSends = maxConcurrentSends;
+    }
+
+    public TransportType getTransport() {
+        return transport;
+    }
+
+    public void setTransport(TransportType transport) {
+        this.transport = transport;
+    }
+
+    public boolean isStompMirrorEnabled() {
+        return stompMirrorEnabled;
+    }
+
+    public void setStompMirrorEnabled(boolean stompMirrorEnabled) {
+        this.stompMirrorEnabled = stompMirrorEnabled;
+    }
+
+    public Mqtt getMqtt() {
+        return mqtt;
+    }
+
+    public void setMqtt(Mqtt mqtt) {
+        this.mqtt = mqtt;
+    }
+
+    public List<Impairment> getImpairments() {
+        return impairments;
+    }
+
+    public void setImpairments(List<Impairment> impairments) {
+        this.impairments = impairments;
+    }
+
+    public long getImpairmentTickMs() {
+        return impairmentTickMs;
+    }
+
+    public void setImpairmentTickMs(long impairmentTickMs) {
+        this.impairmentTickMs = impairmentTickMs;
+    }
+
+    public Report getReport() {
+        return report;
+    }
+
+    public void setReport(Report report) {
+        this.report = report;
+    }
+
+    public Verification getVerification() {
+        return verification;
+    }
+
+    public void setVerification(Verification verification) {
+        this.verification = verification;
+    }
 }
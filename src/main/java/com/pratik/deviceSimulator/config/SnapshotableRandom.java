@@ -0,0 +1,58 @@
+package com.pratik.deviceSimulator.config;
+
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drop-in {@link Random} whose internal 48-bit LCG state can be read and written back,
+ * so a simulation snapshot can resume the exact same random sequence.
+ * Uses the same algorithm as {@link Random}, so sequences are identical for a given seed.
+ */
+public class SnapshotableRandom extends Random {
+
+    private static final long serialVersionUID = 1L;
+    private static final long MULTIPLIER = 0x5DEECE66DL;
+    private static final long ADDEND = 0xBL;
+    private static final long MASK = (1L << 48) - 1;
+
+    // no initializer: Random's constructor calls setSeed() before subclass fields are assigned
+    private AtomicLong state;
+
+    public SnapshotableRandom() {
+        super();
+    }
+
+    public SnapshotableRandom(long seed) {
+        super(seed);
+    }
+
+    @Override
+    public synchronized void setSeed(long seed) {
+        if (state == null) {
+            state = new AtomicLong();
+        }
+        state.set((seed ^ MULTIPLIER) & MASK);
+        super.setSeed(seed); // clears the cached nextGaussian
+    }
+
+    @Override
+    protected int next(int bits) {
+        long oldState;
+        long nextState;
+        do {
+            oldState = state.get();
+            nextState = (oldState * MULTIPLIER + ADDEND) & MASK;
+        } while (!state.compareAndSet(oldState, nextState));
+        return (int) (nextState >>> (48 - bits));
+    }
+
+    /** Raw (already scrambled) generator state, suitable for {@link #setState(long)}. */
+    public long getState() {
+        return state.get();
+    }
+
+    public synchronized void setState(long rawState) {
+        super.setSeed(0L); // clears the cached nextGaussian
+        state.set(rawState & MASK);
+    }
+}
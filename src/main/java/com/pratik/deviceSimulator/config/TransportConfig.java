@@ -0,0 +1,56 @@
+package com.pratik.deviceSimulator.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pratik.deviceSimulator.service.SimulatorWorkExecutor;
+import com.pratik.deviceSimulator.service.WebSocketClientService;
+import com.pratik.deviceSimulator.transport.ImpairedSensorTransport;
+import com.pratik.deviceSimulator.transport.MqttSensorTransport;
+import com.pratik.deviceSimulator.transport.PahoMqttPublisher;
+import com.pratik.deviceSimulator.transport.RestSensorTransport;
+import com.pratik.deviceSimulator.transport.SensorTransport;
+import com.pratik.deviceSimulator.transport.StompSensorTransport;
+import com.pratik.deviceSimulator.transport.TimerWheel;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.client.RestTemplate;
+
+@Configuration
+public class TransportConfig {
+
+    // one wheel turn covers 4096 ticks (4 s at the default 1 ms); longer delays take extra rounds
+    private static final int IMPAIRMENT_WHEEL_SIZE = 4096;
+
+    // only the transport selected by simulator.transport is created, wrapped when impairments are configured
+    @Bean(destroyMethod = "close")
+    public SensorTransport sensorTransport(SimulatorConfig config,
+                                           RestTemplate restTemplate,
+                                           ObjectMapper objectMapper,
+                                           WebSocketClientService webSocketClientService,
+                                           SimulatorWorkExecutor workExecutor,
+                                           MeterRegistry meterRegistry) {
+        SensorTransport transport = baseTransport(config, restTemplate, objectMapper, webSocketClientService);
+        if (config.getImpairments() == null || config.getImpairments().isEmpty()) {
+            return transport;
+        }
+        TimerWheel wheel = new TimerWheel(config.getImpairmentTickMs(), IMPAIRMENT_WHEEL_SIZE, workExecutor::execute);
+        return new ImpairedSensorTransport(transport, config.getImpairments(), wheel, meterRegistry);
+    }
+
+    private SensorTransport baseTransport(SimulatorConfig config,
+                                          RestTemplate restTemplate,
+                                          ObjectMapper objectMapper,
+                                          WebSocketClientService webSocketClientService) {
+        return switch (config.getTransport()) {
+            case REST -> new RestSensorTransport(restTemplate, config.getTargetUrl(),
+                    config.getBatchTargetUrl() != null && !config.getBatchTargetUrl().isBlank()
+                            ? config.getBatchTargetUrl() : config.getTargetUrl() + "/batch");
+            case STOMP -> new StompSensorTransport(webSocketClientService);
+            case MQTT -> {
+                SimulatorConfig.Mqtt mqtt = config.getMqtt();
+                yield new MqttSensorTransport(mqtt, objectMapper, clientId ->
+                        new PahoMqttPublisher(mqtt.getBrokerUrl(), clientId, mqtt.getMaxInflight(), mqtt.getConnectTimeoutMs()));
+            }
+        };
+    }
+}
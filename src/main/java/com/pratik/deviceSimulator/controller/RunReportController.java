@@ -0,0 +1,66 @@
+package com.pratik.deviceSimulator.controller;
+
+import com.pratik.deviceSimulator.dto.RunComparisonDto;
+import com.pratik.deviceSimulator.dto.RunReportDto;
+import com.pratik.deviceSimulator.service.RunReportService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Persisted load-test run reports: write the current run, list and fetch stored reports,
+ * and compare a run against a baseline.
+ */
+@RestController
+@RequestMapping("/admin/simulator/reports")
+@CrossOrigin(origins = "*")
+public class RunReportController {
+
+    private final RunReportService runReports;
+
+    public RunReportController(RunReportService runReports) {
+        this.runReports = runReports;
+    }
+
+    @PostMapping
+    public ResponseEntity<RunReportDto> writeCurrent() throws IOException {
+        try {
+            return ResponseEntity.ok(runReports.writeCurrent());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+
+    @GetMapping
+    public ResponseEntity<List<String>> list() throws IOException {
+        return ResponseEntity.ok(runReports.listReports());
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<RunReportDto> get(@PathVariable String id) throws IOException {
+        try {
+            return runReports.readReport(id)
+                    .map(ResponseEntity::ok)
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /** Without {@code candidate}, compares the run in progress. */
+    @GetMapping("/compare")
+    public ResponseEntity<RunComparisonDto> compare(@RequestParam(required = false) String baseline,
+                                                    @RequestParam(required = false) String candidate,
+                                                    @RequestParam(required = false) Double thresholdPercent) throws IOException {
+        try {
+            return ResponseEntity.ok(runReports.compare(baseline, candidate, thresholdPercent));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.pratik.deviceSimulator.controller;
+
+import com.pratik.deviceSimulator.dto.DeviceReadingsDto;
+import com.pratik.deviceSimulator.dto.DeviceResponseDto;
+import com.pratik.deviceSimulator.dto.SensorRegistrationDto;
+import com.pratik.deviceSimulator.model.Device;
+import com.pratik.deviceSimulator.service.DeliveryVerifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Embedded stand-in for the analyser's /device, /sensor and /sensor/batch endpoints. Point
+ * simulator.target-url at this instance (http://localhost:${server.port}/sensor) to measure
+ * the simulator end to end without an analyser; received readings feed the {@link DeliveryVerifier}.
+ * Also set simulator.analyser-health-url to this instance's /actuator/health/liveness: its
+ * readiness depends on the analyser probe, so probing readiness (or the aggregate health,
+ * which includes readiness when probes are enabled) would wait on itself.
+ */
+@RestController
+@ConditionalOnProperty(name = "simulator.verification.sink-enabled", havingValue = "true")
+public class SensorSinkController {
+
+    private final DeliveryVerifier verifier;
+    private final AtomicLong nextDeviceId = new AtomicLong(1000);
+
+    public SensorSinkController(DeliveryVerifier verifier) {
+        this.verifier = verifier;
+    }
+
+    @PostMapping("/device")
+    public ResponseEntity<DeviceResponseDto> registerDevice(@RequestBody Map<String, Object> body) {
+        DeviceResponseDto dto = new DeviceResponseDto();
+        dto.setDeviceId(nextDeviceId.incrementAndGet());
+        dto.setDeviceName(String.valueOf(body.get("deviceName")));
+        dto.setDeviceType(String.valueOf(body.get("deviceType")));
+        dto.setRegisteredAt(LocalDateTime.now());
+        dto.setStatus(Device.Status.ONLINE);
+        return ResponseEntity.status(HttpStatus.CREATED).body(dto);
+    }
+
+    @PostMapping("/sensor")
+    public ResponseEntity<Void> receive(@RequestBody SensorRegistrationDto reading) {
+        verifier.record(reading);
+        return ResponseEntity.ok().build();
+    }
+
+    @PostMapping("/sensor/batch")
+    public ResponseEntity<Void> receiveBatch(@RequestBody DeviceReadingsDto readings) {
+        verifier.record(readings);
+        return ResponseEntity.ok().build();
+    }
+}
@@ -1,9 +1,16 @@
 package com.pratik.deviceSimulator.controller;
 
+import com.pratik.deviceSimulator.dto.DeviceStatsDto;
+import com.pratik.deviceSimulator.dto.VerificationReportDto;
+import com.pratik.deviceSimulator.model.FleetSnapshot;
 import com.pratik.deviceSimulator.service.MultiDeviceSimulatorService;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.util.List;
+
 @RestController
 @RequestMapping("/admin/simulator")
 @CrossOrigin(origins = "*")
@@ -44,5 +51,56 @@ public class SimulatorAdminController {
         simulatorService.injectAnomalyToDevice(id);
         return ResponseEntity.ok("Anomaly injected for Device " + id);
     }
-}
 
+    @PostMapping("/snapshot")
+    public ResponseEntity<String> snapshot() {
+        try {
+            FleetSnapshot snapshot = simulatorService.saveSnapshot();
+            return ResponseEntity.ok("Snapshot of " + snapshot.getDeviceCount() + " devices saved");
+        } catch (IOException | IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Snapshot failed: " + e.getMessage());
+        }
+    }
+
+    @PostMapping("/restore")
+    public ResponseEntity<String> restore() {
+        try {
+            FleetSnapshot snapshot = simulatorService.restoreSnapshot();
+            return ResponseEntity.ok("Restored " + snapshot.getDeviceCount() + " devices from snapshot");
+        } catch (IOException | IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Restore failed: " + e.getMessage());
+        }
+    }
+
+    @GetMapping("/devices/{id}/stats")
+    public ResponseEntity<DeviceStatsDto> deviceStats(@PathVariable Long id) {
+        return simulatorService.deviceStats(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/devices/top-failing")
+    public ResponseEntity<List<DeviceStatsDto>> topFailing(@RequestParam(defaultValue = "10") int k) {
+        return ResponseEntity.ok(simulatorService.topFailingDevices(k));
+    }
+
+    @GetMapping("/devices/top-slowest")
+    public ResponseEntity<List<DeviceStatsDto>> topSlowest(@RequestParam(defaultValue = "10") int k) {
+        return ResponseEntity.ok(simulatorService.topSlowestDevices(k));
+    }
+
+    @PostMapping("/verification/start")
+    public ResponseEntity<VerificationReportDto> startVerification() {
+        return ResponseEntity.ok(simulatorService.startVerification());
+    }
+
+    @PostMapping("/verification/stop")
+    public ResponseEntity<VerificationReportDto> stopVerification() {
+        return ResponseEntity.ok(simulatorService.stopVerification());
+    }
+
+    @GetMapping("/verification")
+    public ResponseEntity<VerificationReportDto> verificationReport() {
+        return ResponseEntity.ok(simulatorService.verificationReport());
+    }
+}
@@ -0,0 +1,129 @@
+package com.pratik.deviceSimulator.controller;
+
+import com.pratik.deviceSimulator.dto.TelemetrySnapshotDto;
+import com.pratik.deviceSimulator.service.SimulatorTelemetry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Pushes the per-second telemetry aggregates to dashboards over Server-Sent Events,
+ * so a load test can be followed live without scraping the actuator.
+ *
+ * Frames are written off the telemetry roll thread: each client keeps only its newest
+ * unsent frame and has at most one write in progress, so a slow client skips frames
+ * instead of delaying the roll (and with it the run report's interval boundaries).
+ */
+@RestController
+@RequestMapping("/admin/simulator/telemetry")
+@CrossOrigin(origins = "*")
+public class TelemetryStreamController implements DisposableBean {
+
+    private final SimulatorTelemetry telemetry;
+    private final Executor sender;
+    private final List<Client> clients = new CopyOnWriteArrayList<>();
+    private final Consumer<TelemetrySnapshotDto> listener = this::broadcast;
+
+    @Autowired
+    public TelemetryStreamController(SimulatorTelemetry telemetry) {
+        this(telemetry, Executors.newCachedThreadPool(r -> {
+            Thread t = new Thread(r, "sim-telemetry-sse");
+            t.setDaemon(true);
+            return t;
+        }));
+    }
+
+    TelemetryStreamController(SimulatorTelemetry telemetry, Executor sender) {
+        this.telemetry = telemetry;
+        this.sender = sender;
+        this.telemetry.addListener(listener);
+    }
+
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream() {
+        return register(new SseEmitter(0L)); // no timeout; closed by the client
+    }
+
+    SseEmitter register(SseEmitter emitter) {
+        Client client = new Client(emitter);
+        emitter.onCompletion(() -> clients.remove(client));
+        emitter.onTimeout(() -> clients.remove(client));
+        emitter.onError(e -> clients.remove(client));
+        clients.add(client);
+        return emitter;
+    }
+
+    @GetMapping
+    public ResponseEntity<TelemetrySnapshotDto> latest() {
+        return ResponseEntity.ok(telemetry.getLatest());
+    }
+
+    private void broadcast(TelemetrySnapshotDto snapshot) {
+        for (Client client : clients) {
+            client.offer(snapshot);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        telemetry.removeListener(listener);
+        if (sender instanceof ExecutorService executor) {
+            executor.shutdownNow();
+        }
+    }
+
+    /** One SSE subscriber: a single-slot mailbox drained by at most one sender task. */
+    private final class Client {
+        final SseEmitter emitter;
+        final AtomicReference<TelemetrySnapshotDto> next = new AtomicReference<>();
+        final AtomicBoolean sending = new AtomicBoolean();
+
+        Client(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        void offer(TelemetrySnapshotDto snapshot) {
+            next.set(snapshot); // replaces a frame the client has not taken yet
+            if (sending.compareAndSet(false, true)) {
+                try {
+                    sender.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    sending.set(false);
+                }
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                TelemetrySnapshotDto snapshot = next.getAndSet(null);
+                if (snapshot == null) {
+                    sending.set(false);
+                    // a frame offered after the getAndSet but before the reset would be stranded
+                    if (next.get() == null || !sending.compareAndSet(false, true)) return;
+                    continue;
+                }
+                try {
+                    emitter.send(SseEmitter.event().name("telemetry").data(snapshot, MediaType.APPLICATION_JSON));
+                } catch (IOException | IllegalStateException e) {
+                    clients.remove(this);
+                    emitter.completeWithError(e);
+                    return;
+                }
+            }
+        }
+    }
+}
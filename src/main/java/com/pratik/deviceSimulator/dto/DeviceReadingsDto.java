@@ -0,0 +1,165 @@
+package com.pratik.deviceSimulator.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * All sensors of one multi-sensor device in a single message, as sent by grouped profiles.
+ * Carries one sequence number per message, so delivery verification counts messages.
+ */
+public class DeviceReadingsDto {
+    private Long deviceId;
+    private String profile;
+    private boolean connected;
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime timestamp;
+    private Long sequence;
+    private Long sentAtEpochNanos;
+    private List<Reading> readings = new ArrayList<>();
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String padding;
+    private long dispatchedAtNanos;
+
+    public DeviceReadingsDto() {}
+
+    public DeviceReadingsDto(Long deviceId, String profile, boolean connected, int sensorCount) {
+        this.deviceId = deviceId;
+        this.profile = profile;
+        this.connected = connected;
+        this.timestamp = LocalDateTime.now();
+        this.readings = new ArrayList<>(sensorCount);
+    }
+
+    public static class Reading {
+        private String sensorType;
+        private Double value;
+        private String unit;
+        private boolean anomaly;
+
+        public Reading() {}
+
+        public Reading(String sensorType, Double value, String unit, boolean anomaly) {
+            this.sensorType = sensorType;
+            this.value = value;
+            this.unit = unit;
+            this.anomaly = anomaly;
+        }
+
+        public String getSensorType() {
+            return sensorType;
+        }
+
+        public void setSensorType(String sensorType) {
+            this.sensorType = sensorType;
+        }
+
+        public Double getValue() {
+            return value;
+        }
+
+        public void setValue(Double value) {
+            this.value = value;
+        }
+
+        public String getUnit() {
+            return unit;
+        }
+
+        public void setUnit(String unit) {
+            this.unit = unit;
+        }
+
+        public boolean isAnomaly() {
+            return anomaly;
+        }
+
+        public void setAnomaly(boolean anomaly) {
+            this.anomaly = anomaly;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "DeviceReadingsDto{deviceId=" + deviceId + ", profile=" + profile
+                + ", readings=" + readings.size() + ", seq=" + sequence + '}';
+    }
+
+    public Long getDeviceId() {
+        return deviceId;
+    }
+
+    public void setDeviceId(Long deviceId) {
+        this.deviceId = deviceId;
+    }
+
+    public String getProfile() {
+        return profile;
+    }
+
+    public void setProfile(String profile) {
+        this.profile = profile;
+    }
+
+    public boolean isConnected() {
+        return connected;
+    }
+
+    public void setConnected(boolean connected) {
+        this.connected = connected;
+    }
+
+    public LocalDateTime getTimestamp() {
+        return timestamp;
+    }
+
+    public void setTimestamp(LocalDateTime timestamp) {
+        this.timestamp = timestamp;
+    }
+
+    public Long getSequence() {
+        return sequence;
+    }
+
+    public void setSequence(Long sequence) {
+        this.sequence = sequence;
+    }
+
+    public Long getSentAtEpochNanos() {
+        return sentAtEpochNanos;
+    }
+
+    public void setSentAtEpochNanos(Long sentAtEpochNanos) {
+        this.sentAtEpochNanos = sentAtEpochNanos;
+    }
+
+    /** System.nanoTime() when the message was handed to the wire transport; never serialized. */
+    @JsonIgnore
+    public long getDispatchedAtNanos() {
+        return dispatchedAtNanos;
+    }
+
+    public void setDispatchedAtNanos(long dispatchedAtNanos) {
+        this.dispatchedAtNanos = dispatchedAtNanos;
+    }
+
+    public List<Reading> getReadings() {
+        return readings;
+    }
+
+    public void setReadings(List<Reading> readings) {
+        this.readings = readings;
+    }
+
+    public String getPadding() {
+        return padding;
+    }
+
+    public void setPadding(String padding) {
+        this.padding = padding;
+    }
+}
@@ -0,0 +1,101 @@
+package com.pratik.deviceSimulator.dto;
+
+/**
+ * Per-device send statistics. {@code rankWeight}/{@code rankError} are only set on
+ * top-K answers and carry the estimate the device was ranked by: failed sends for
+ * top-failing, smoothed latency in microseconds (error 0) for top-slowest.
+ */
+public class DeviceStatsDto {
+    private Long deviceId;
+    private Long registeredId;
+    private long successCount;
+    private long failureCount;
+    private long reconnectCount;
+    private double lastLatencyMs;
+    private double smoothedLatencyMs;
+    private double lastValue;
+    private Long rankWeight;
+    private Long rankError;
+
+    public DeviceStatsDto() {}
+
+    public Long getDeviceId() {
+        return deviceId;
+    }
+
+    public void setDeviceId(Long deviceId) {
+        this.deviceId = deviceId;
+    }
+
+    public Long getRegisteredId() {
+        return registeredId;
+    }
+
+    public void setRegisteredId(Long registeredId) {
+        this.registeredId = registeredId;
+    }
+
+    public long getSuccessCount() {
+        return successCount;
+    }
+
+    public void setSuccessCount(long successCount) {
+        this.successCount = successCount;
+    }
+
+    public long getFailureCount() {
+        return failureCount;
+    }
+
+    public void setFailureCount(long failureCount) {
+        this.failureCount = failureCount;
+    }
+
+    public long getReconnectCount() {
+        return reconnectCount;
+    }
+
+    public void setReconnectCount(long reconnectCount) {
+        this.reconnectCount = reconnectCount;
+    }
+
+    public double getLastLatencyMs() {
+        return lastLatencyMs;
+    }
+
+    public void setLastLatencyMs(double lastLatencyMs) {
+        this.lastLatencyMs = lastLatencyMs;
+    }
+
+    public double getSmoothedLatencyMs() {
+        return smoothedLatencyMs;
+    }
+
+    public void setSmoothedLatencyMs(double smoothedLatencyMs) {
+        this.smoothedLatencyMs = smoothedLatencyMs;
+    }
+
+    public double getLastValue() {
+        return lastValue;
+    }
+
+    public void setLastValue(double lastValue) {
+        this.lastValue = lastValue;
+    }
+
+    public Long getRankWeight() {
+        return rankWeight;
+    }
+
+    public void setRankWeight(Long rankWeight) {
+        this.rankWeight = rankWeight;
+    }
+
+    public Long getRankError() {
+        return rankError;
+    }
+
+    public void setRankError(Long rankError) {
+        this.rankError = rankError;
+    }
+}
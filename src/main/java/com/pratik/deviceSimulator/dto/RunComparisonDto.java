@@ -0,0 +1,115 @@
+package com.pratik.deviceSimulator.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Result of comparing a candidate run report against a baseline.
+ */
+public class RunComparisonDto {
+    private String baselineRunId;
+    private String candidateRunId;
+    private double thresholdPercent;
+    private boolean regressed;
+    private List<MetricDelta> metrics = new ArrayList<>();
+
+    public RunComparisonDto() {}
+
+    public static class MetricDelta {
+        private String metric;
+        private double baseline;
+        private double candidate;
+        private double changePercent;
+        private boolean regression;
+
+        public MetricDelta() {}
+
+        public MetricDelta(String metric, double baseline, double candidate, double changePercent, boolean regression) {
+            this.metric = metric;
+            this.baseline = baseline;
+            this.candidate = candidate;
+            this.changePercent = changePercent;
+            this.regression = regression;
+        }
+
+        public String getMetric() {
+            return metric;
+        }
+
+        public void setMetric(String metric) {
+            this.metric = metric;
+        }
+
+        public double getBaseline() {
+            return baseline;
+        }
+
+        public void setBaseline(double baseline) {
+            this.baseline = baseline;
+        }
+
+        public double getCandidate() {
+            return candidate;
+        }
+
+        public void setCandidate(double candidate) {
+            this.candidate = candidate;
+        }
+
+        public double getChangePercent() {
+            return changePercent;
+        }
+
+        public void setChangePercent(double changePercent) {
+            this.changePercent = changePercent;
+        }
+
+        public boolean isRegression() {
+            return regression;
+        }
+
+        public void setRegression(boolean regression) {
+            this.regression = regression;
+        }
+    }
+
+    public String getBaselineRunId() {
+        return baselineRunId;
+    }
+
+    public void setBaselineRunId(String baselineRunId) {
+        this.baselineRunId = baselineRunId;
+    }
+
+    public String getCandidateRunId() {
+        return candidateRunId;
+    }
+
+    public void setCandidateRunId(String candidateRunId) {
+        this.candidateRunId = candidateRunId;
+    }
+
+    public double getThresholdPercent() {
+        return thresholdPercent;
+    }
+
+    public void setThresholdPercent(double thresholdPercent) {
+        this.thresholdPercent = thresholdPercent;
+    }
+
+    public boolean isRegressed() {
+        return regressed;
+    }
+
+    public void setRegressed(boolean regressed) {
+        this.regressed = regressed;
+    }
+
+    public List<MetricDelta> getMetrics() {
+        return metrics;
+    }
+
+    public void setMetrics(List<MetricDelta> metrics) {
+        this.metrics = metrics;
+    }
+}
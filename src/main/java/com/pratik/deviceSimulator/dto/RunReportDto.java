@@ -0,0 +1,264 @@
+package com.pratik.deviceSimulator.dto;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JSON summary of one load-test run. The full per-bucket latency histograms are in the
+ * HdrHistogram log named by {@code histogramLog}, next to this file.
+ */
+public class RunReportDto {
+    private String runId;
+    private String scenario;
+    private long startedAtEpochMs;
+    private long endedAtEpochMs;
+    private double durationSeconds;
+    private boolean complete; // false for mid-run reports requested through the admin API
+    private Map<String, Object> config = new LinkedHashMap<>();
+    private long totalReadings;
+    private long totalErrors;
+    private double errorRate;
+    private double meanReadingsPerSec;
+    private double peakReadingsPerSec;
+    private double latencyP50Ms;
+    private double latencyP90Ms;
+    private double latencyP99Ms;
+    private double latencyP999Ms;
+    private double latencyMaxMs;
+    private int bucketSeconds;
+    private String histogramLog;
+    private List<Bucket> buckets = new ArrayList<>();
+
+    public RunReportDto() {}
+
+    /** One time bucket of the run. */
+    public static class Bucket {
+        private long startEpochMs;
+        private double seconds;
+        private double readingsPerSec;
+        private double errorsPerSec;
+        private double latencyP50Ms;
+        private double latencyP99Ms;
+        private double latencyMaxMs;
+
+        public Bucket() {}
+
+        public long getStartEpochMs() {
+            return startEpochMs;
+        }
+
+        public void setStartEpochMs(long startEpochMs) {
+            this.startEpochMs = startEpochMs;
+        }
+
+        public double getSeconds() {
+            return seconds;
+        }
+
+        public void setSeconds(double seconds) {
+            this.seconds = seconds;
+        }
+
+        public double getReadingsPerSec() {
+            return readingsPerSec;
+        }
+
+        public void setReadingsPerSec(double readingsPerSec) {
+            this.readingsPerSec = readingsPerSec;
+        }
+
+        public double getErrorsPerSec() {
+            return errorsPerSec;
+        }
+
+        public void setErrorsPerSec(double errorsPerSec) {
+            this.errorsPerSec = errorsPerSec;
+        }
+
+        public double getLatencyP50Ms() {
+            return latencyP50Ms;
+        }
+
+        public void setLatencyP50Ms(double latencyP50Ms) {
+            this.latencyP50Ms = latencyP50Ms;
+        }
+
+        public double getLatencyP99Ms() {
+            return latencyP99Ms;
+        }
+
+        public void setLatencyP99Ms(double latencyP99Ms) {
+            this.latencyP99Ms = latencyP99Ms;
+        }
+
+        public double getLatencyMaxMs() {
+            return latencyMaxMs;
+        }
+
+        public void setLatencyMaxMs(double latencyMaxMs) {
+            this.latencyMaxMs = latencyMaxMs;
+        }
+    }
+
+    public String getRunId() {
+        return runId;
+    }
+
+    public void setRunId(String runId) {
+        this.runId = runId;
+    }
+
+    public String getScenario() {
+        return scenario;
+    }
+
+    public void setScenario(String scenario) {
+        this.scenario = scenario;
+    }
+
+    public long getStartedAtEpochMs() {
+        return startedAtEpochMs;
+    }
+
+    public void setStartedAtEpochMs(long startedAtEpochMs) {
+        this.startedAtEpochMs = startedAtEpochMs;
+    }
+
+    public long getEndedAtEpochMs() {
+        return endedAtEpochMs;
+    }
+
+    public void setEndedAtEpochMs(long endedAtEpochMs) {
+        this.endedAtEpochMs = endedAtEpochMs;
+    }
+
+    public double getDurationSeconds() {
+        return durationSeconds;
+    }
+
+    public void setDurationSeconds(double durationSeconds) {
+        this.durationSeconds = durationSeconds;
+    }
+
+    public boolean isComplete() {
+        return complete;
+    }
+
+    public void setComplete(boolean complete) {
+        this.complete = complete;
+    }
+
+    public Map<String, Object> getConfig() {
+        return config;
+    }
+
+    public void setConfig(Map<String, Object> config) {
+        this.config = config;
+    }
+
+    public long getTotalReadings() {
+        return totalReadings;
+    }
+
+    public void setTotalReadings(long totalReadings) {
+        this.totalReadings = totalReadings;
+    }
+
+    public long getTotalErrors() {
+        return totalErrors;
+    }
+
+    public void setTotalErrors(long totalErrors) {
+        this.totalErrors = totalErrors;
+    }
+
+    public double getErrorRate() {
+        return errorRate;
+    }
+
+    public void setErrorRate(double errorRate) {
+        this.errorRate = errorRate;
+    }
+
+    public double getMeanReadingsPerSec() {
+        return meanReadingsPerSec;
+    }
+
+    public void setMeanReadingsPerSec(double meanReadingsPerSec) {
+        this.meanReadingsPerSec = meanReadingsPerSec;
+    }
+
+    public double getPeakReadingsPerSec() {
+        return peakReadingsPerSec;
+    }
+
+    public void setPeakReadingsPerSec(double peakReadingsPerSec) {
+        this.peakReadingsPerSec = peakReadingsPerSec;
+    }
+
+    public double getLatencyP50Ms() {
+        return latencyP50Ms;
+    }
+
+    public void setLatencyP50Ms(double latencyP50Ms) {
+        this.latencyP50Ms = latencyP50Ms;
+    }
+
+    public double getLatencyP90Ms() {
+        return latencyP90Ms;
+    }
+
+    public void setLatencyP90Ms(double latencyP90Ms) {
+        this.latencyP90Ms = latencyP90Ms;
+    }
+
+    public double getLatencyP99Ms() {
+        return latencyP99Ms;
+    }
+
+    public void setLatencyP99Ms(double latencyP99Ms) {
+        this.latencyP99Ms = latencyP99Ms;
+    }
+
+    public double getLatencyP999Ms() {
+        return latencyP999Ms;
+    }
+
+    public void setLatencyP999Ms(double latencyP999Ms) {
+        this.latencyP999Ms = latencyP999Ms;
+    }
+
+    public double getLatencyMaxMs() {
+        return latencyMaxMs;
+    }
+
+    public void setLatencyMaxMs(double latencyMaxMs) {
+        this.latencyMaxMs = latencyMaxMs;
+    }
+
+    public int getBucketSeconds() {
+        return bucketSeconds;
+    }
+
+    public void setBucketSeconds(int bucketSeconds) {
+        this.bucketSeconds = bucketSeconds;
+    }
+
+    public String getHistogramLog() {
+        return histogramLog;
+    }
+
+    public void setHistogramLog(String histogramLog) {
+        this.histogramLog = histogramLog;
+    }
+
+    public List<Bucket> getBuckets() {
+        return buckets;
+    }
+
+    public void setBuckets(List<Bucket> buckets) {
+        this.buckets = buckets;
+    }
+}
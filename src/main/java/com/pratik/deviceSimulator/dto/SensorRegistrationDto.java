@@ -1,6 +1,8 @@
 package com.pratik.deviceSimulator.dto;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
 
 import java.time.LocalDateTime;
 
@@ -12,6 +14,11 @@ public class SensorRegistrationDto {
     private boolean connected; // optional, useful for diagnostics
     @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
     private LocalDateTime timestamp; // optional but highly recommended
+    private Long sequence; // per-device, monotonic from 1; detects loss/duplication/reordering
+    private Long sentAtEpochNanos; // full-precision send time for one-way latency
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String padding; // profile payload filler; omitted for the default profile
+    private long dispatchedAtNanos; // local send-latency origin, moved past any injected delay
 
     public SensorRegistrationDto() {}
     @Override
@@ -20,6 +27,7 @@ public class SensorRegistrationDto {
                 "deviceId=" + deviceId +
                 ", type=" + sensorType +
                 ", value=" + value +
+                ", seq=" + sequence +
                 '}';
     }
 
@@ -81,6 +89,40 @@ public class SensorRegistrationDto {
     public void setTimestamp(LocalDateTime timestamp) {
         this.timestamp = timestamp;
     }
+
+    public Long getSequence() {
+        return sequence;
+    }
+
+    public void setSequence(Long sequence) {
+        this.sequence = sequence;
+    }
+
+    public String getPadding() {
+        return padding;
+    }
+
+    public void setPadding(String padding) {
+        this.padding = padding;
+    }
+
+    public Long getSentAtEpochNanos() {
+        return sentAtEpochNanos;
+    }
+
+    public void setSentAtEpochNanos(Long sentAtEpochNanos) {
+        this.sentAtEpochNanos = sentAtEpochNanos;
+    }
+
+    /** System.nanoTime() when the message was handed to the wire transport; never serialized. */
+    @JsonIgnore
+    public long getDispatchedAtNanos() {
+        return dispatchedAtNanos;
+    }
+
+    public void setDispatchedAtNanos(long dispatchedAtNanos) {
+        this.dispatchedAtNanos = dispatchedAtNanos;
+    }
 }
 
 
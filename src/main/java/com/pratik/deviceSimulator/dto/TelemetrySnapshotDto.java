@@ -0,0 +1,101 @@
+package com.pratik.deviceSimulator.dto;
+
+import java.util.Map;
+
+/**
+ * One-second aggregate of simulator throughput, pushed to live-telemetry subscribers.
+ */
+public class TelemetrySnapshotDto {
+    private long epochMs;
+    private double readingsPerSec;
+    private double errorsPerSec;
+    private double errorRate;
+    private double latencyP50Ms;
+    private double latencyP90Ms;
+    private double latencyP99Ms;
+    private double latencyMaxMs;
+    private int connectedDevices;
+    private Map<String, Double> sensorTypeRates;
+
+    public TelemetrySnapshotDto() {}
+
+    public long getEpochMs() {
+        return epochMs;
+    }
+
+    public void setEpochMs(long epochMs) {
+        this.epochMs = epochMs;
+    }
+
+    public double getReadingsPerSec() {
+        return readingsPerSec;
+    }
+
+    public void setReadingsPerSec(double readingsPerSec) {
+        this.readingsPerSec = readingsPerSec;
+    }
+
+    public double getErrorsPerSec() {
+        return errorsPerSec;
+    }
+
+    public void setErrorsPerSec(double errorsPerSec) {
+        this.errorsPerSec = errorsPerSec;
+    }
+
+    public double getErrorRate() {
+        return errorRate;
+    }
+
+    public void setErrorRate(double errorRate) {
+        this.errorRate = errorRate;
+    }
+
+    public double getLatencyP50Ms() {
+        return latencyP50Ms;
+    }
+
+    public void setLatencyP50Ms(double latencyP50Ms) {
+        this.latencyP50Ms = latencyP50Ms;
+    }
+
+    public double getLatencyP90Ms() {
+        return latencyP90Ms;
+    }
+
+    public void setLatencyP90Ms(double latencyP90Ms) {
+        this.latencyP90Ms = latencyP90Ms;
+    }
+
+    public double getLatencyP99Ms() {
+        return latencyP99Ms;
+    }
+
+    public void setLatencyP99Ms(double latencyP99Ms) {
+        this.latencyP99Ms = latencyP99Ms;
+    }
+
+    public double getLatencyMaxMs() {
+        return latencyMaxMs;
+    }
+
+    public void setLatencyMaxMs(double latencyMaxMs) {
+        this.latencyMaxMs = latencyMaxMs;
+    }
+
+    public int getConnectedDevices() {
+        return connectedDevices;
+    }
+
+    public void setConnectedDevices(int connectedDevices) {
+        this.connectedDevices = connectedDevices;
+    }
+
+    public Map<String, Double> getSensorTypeRates() {
+        return sensorTypeRates;
+    }
+
+    public void setSensorTypeRates(Map<String, Double> sensorTypeRates) {
+        this.sensorTypeRates = sensorTypeRates;
+    }
+}
@@ -0,0 +1,128 @@
+package com.pratik.deviceSimulator.dto;
+
+/**
+ * End-to-end delivery accounting since verification was started.
+ * {@code expected} is what the simulator emitted; {@code lost} = expected - unique received,
+ * so readings still in flight count as lost until they arrive.
+ */
+public class VerificationReportDto {
+    private boolean active;
+    private String source;
+    private long expected;
+    private long received;
+    private long unique;
+    private long lost;
+    private long duplicates;
+    private long reordered;
+    private long late;
+    private double lossRate;
+    private double latencyP50Ms;
+    private double latencyP99Ms;
+    private double latencyMaxMs;
+
+    public VerificationReportDto() {}
+
+    public boolean isActive() {
+        return active;
+    }
+
+    public void setActive(boolean active) {
+        this.active = active;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    public void setSource(String source) {
+        this.source = source;
+    }
+
+    public long getExpected() {
+        return expected;
+    }
+
+    public void setExpected(long expected) {
+        this.expected = expected;
+    }
+
+    public long getReceived() {
+        return received;
+    }
+
+    public void setReceived(long received) {
+        this.received = received;
+    }
+
+    public long getUnique() {
+        return unique;
+    }
+
+    public void setUnique(long unique) {
+        this.unique = unique;
+    }
+
+    public long getLost() {
+        return lost;
+    }
+
+    public void setLost(long lost) {
+        this.lost = lost;
+    }
+
+    public long getDuplicates() {
+        return duplicates;
+    }
+
+    public void setDuplicates(long duplicates) {
+        this.duplicates = duplicates;
+    }
+
+    public long getReordered() {
+        return reordered;
+    }
+
+    public void setReordered(long reordered) {
+        this.reordered = reordered;
+    }
+
+    public long getLate() {
+        return late;
+    }
+
+    public void setLate(long late) {
+        this.late = late;
+    }
+
+    public double getLossRate() {
+        return lossRate;
+    }
+
+    public void setLossRate(double lossRate) {
+        this.lossRate = lossRate;
+    }
+
+    public double getLatencyP50Ms() {
+        return latencyP50Ms;
+    }
+
+    public void setLatencyP50Ms(double latencyP50Ms) {
+        this.latencyP50Ms = latencyP50Ms;
+    }
+
+    public double getLatencyP99Ms() {
+        return latencyP99Ms;
+    }
+
+    public void setLatencyP99Ms(double latencyP99Ms) {
+        this.latencyP99Ms = latencyP99Ms;
+    }
+
+    public double getLatencyMaxMs() {
+        return latencyMaxMs;
+    }
+
+    public void setLatencyMaxMs(double latencyMaxMs) {
+        this.latencyMaxMs = latencyMaxMs;
+    }
+}
@@ -0,0 +1,99 @@
+package com.pratik.deviceSimulator.model;
+
+import java.util.List;
+
+/**
+ * Immutable device class shared by every {@link SimulatedDevice} of that class (flyweight):
+ * sensor set, reporting stride, payload filler and fault rates live here once, so a device
+ * only carries a reference to its profile.
+ */
+public final class DeviceProfile {
+
+    private final int index;
+    private final String name;
+    private final double weight;
+    private final String deviceType;
+    private final List<String> sensorTypes;
+    private final boolean grouped;
+    private final int everyNTicks;
+    private final String padding;
+    private final double disconnectProbability;
+    private final double reconnectProbability;
+    private final double anomalyProbability;
+
+    public DeviceProfile(int index, String name, double weight, String deviceType, List<String> sensorTypes,
+                         boolean grouped, int everyNTicks, int payloadBytes, double disconnectProbability,
+                         double reconnectProbability, double anomalyProbability) {
+        this.index = index;
+        this.name = name;
+        this.weight = weight;
+        this.deviceType = deviceType;
+        this.sensorTypes = sensorTypes;
+        this.grouped = grouped;
+        this.everyNTicks = Math.max(1, everyNTicks);
+        // one filler string per profile, shared by every message of every device in it
+        this.padding = payloadBytes > 0 ? "x".repeat(payloadBytes) : null;
+        this.disconnectProbability = disconnectProbability;
+        this.reconnectProbability = reconnectProbability;
+        this.anomalyProbability = anomalyProbability;
+    }
+
+    /** Position in the resolved profile list; stored in snapshots. */
+    public int getIndex() {
+        return index;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /** Relative share of the fleet. */
+    public double getWeight() {
+        return weight;
+    }
+
+    public String getDeviceType() {
+        return deviceType;
+    }
+
+    public List<String> getSensorTypes() {
+        return sensorTypes;
+    }
+
+    /** True when a device with more than one sensor sends all of them in one message per report. */
+    public boolean isGrouped() {
+        return grouped && sensorTypes.size() > 1;
+    }
+
+    public int getEveryNTicks() {
+        return everyNTicks;
+    }
+
+    /** Devices report on every {@code everyNTicks}-th tick, staggered by slot so they do not all fire together. */
+    public boolean isDue(long tick, int slot) {
+        return everyNTicks == 1 || Math.floorMod(tick + slot, (long) everyNTicks) == 0;
+    }
+
+    /** Filler attached to each message, or null when the profile adds none. */
+    public String getPadding() {
+        return padding;
+    }
+
+    public double getDisconnectProbability() {
+        return disconnectProbability;
+    }
+
+    public double getReconnectProbability() {
+        return reconnectProbability;
+    }
+
+    public double getAnomalyProbability() {
+        return anomalyProbability;
+    }
+
+    @Override
+    public String toString() {
+        return "DeviceProfile{name=" + name + ", sensorTypes=" + sensorTypes + ", everyNTicks=" + everyNTicks
+                + ", grouped=" + isGrouped() + '}';
+    }
+}
@@ -0,0 +1,99 @@
+package com.pratik.deviceSimulator.model;
+
+import java.util.List;
+
+/**
+ * Columnar copy of the whole simulated fleet: one primitive array per device attribute,
+ * indexed by device slot. Sensor-type lists are de-duplicated into {@code sensorSets}
+ * and referenced by index so a million devices sharing one list store it once; device
+ * profiles are stored the same way, by name.
+ */
+public class FleetSnapshot {
+
+    /** Marker stored in {@code registeredIds} for devices the analyser never assigned an id to. */
+    public static final long NO_REGISTERED_ID = Long.MIN_VALUE;
+    /** Marker stored in {@code profileIndexes} when the snapshot predates device profiles. */
+    public static final int NO_PROFILE = -1;
+
+    private final long capturedAtEpochMs;
+    private final boolean simulationEnabled;
+    private final long rngState;
+    private final List<List<String>> sensorSets;
+    private final long[] ids;
+    private final long[] registeredIds;
+    private final int[] sensorSetIndexes;
+    private final boolean[] connected;
+    private final long[] sequences;
+    private final List<String> profileNames;
+    private final int[] profileIndexes;
+
+    public FleetSnapshot(long capturedAtEpochMs, boolean simulationEnabled, long rngState,
+                         List<List<String>> sensorSets, long[] ids, long[] registeredIds,
+                         int[] sensorSetIndexes, boolean[] connected, long[] sequences,
+                         List<String> profileNames, int[] profileIndexes) {
+        if (registeredIds.length != ids.length || sensorSetIndexes.length != ids.length
+                || connected.length != ids.length || sequences.length != ids.length
+                || profileIndexes.length != ids.length) {
+            throw new IllegalArgumentException("Snapshot columns must all have " + ids.length + " entries");
+        }
+        this.capturedAtEpochMs = capturedAtEpochMs;
+        this.simulationEnabled = simulationEnabled;
+        this.rngState = rngState;
+        this.sensorSets = sensorSets;
+        this.ids = ids;
+        this.registeredIds = registeredIds;
+        this.sensorSetIndexes = sensorSetIndexes;
+        this.connected = connected;
+        this.sequences = sequences;
+        this.profileNames = profileNames;
+        this.profileIndexes = profileIndexes;
+    }
+
+    public int getDeviceCount() {
+        return ids.length;
+    }
+
+    public long getCapturedAtEpochMs() {
+        return capturedAtEpochMs;
+    }
+
+    public boolean isSimulationEnabled() {
+        return simulationEnabled;
+    }
+
+    public long getRngState() {
+        return rngState;
+    }
+
+    public List<List<String>> getSensorSets() {
+        return sensorSets;
+    }
+
+    public long[] getIds() {
+        return ids;
+    }
+
+    public long[] getRegisteredIds() {
+        return registeredIds;
+    }
+
+    public int[] getSensorSetIndexes() {
+        return sensorSetIndexes;
+    }
+
+    public boolean[] getConnected() {
+        return connected;
+    }
+
+    public long[] getSequences() {
+        return sequences;
+    }
+
+    public List<String> getProfileNames() {
+        return profileNames;
+    }
+
+    public int[] getProfileIndexes() {
+        return profileIndexes;
+    }
+}
@@ -1,18 +1,34 @@
 package com.pratik.deviceSimulator.model;
 
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
 
 public class SimulatedDevice {
 
+    private static final AtomicLongFieldUpdater<SimulatedDevice> SEQUENCE =
+            AtomicLongFieldUpdater.newUpdater(SimulatedDevice.class, "sequence");
+
     private Long id;
+    private int slot; // position in the fleet; indexes the primitive per-device stats columns
     private Long registeredId;
     private List<String> sensorTypes;
+    private DeviceProfile profile; // shared flyweight: rates, fault probabilities, payload
     private boolean connected;
+    // false while registration is still pending in ASYNC startup; such devices do not emit yet
+    private volatile boolean ready;
+    // last sequence number handed out; readings carry 1, 2, 3, ... per device
+    private volatile long sequence;
     public SimulatedDevice(Long id, List<String> sensorTypes) {
         this.id = id;
         this.sensorTypes = sensorTypes;
         this.connected = true;
+        this.ready = true;
+
+    }
 
+    public SimulatedDevice(Long id, DeviceProfile profile) {
+        this(id, profile.getSensorTypes());
+        this.profile = profile;
     }
 
     public Long getRegisteredId() {
@@ -47,8 +63,46 @@ public class SimulatedDevice {
         this.connected = connected;
     }
 
+    public DeviceProfile getProfile() {
+        return profile;
+    }
+
+    public void setProfile(DeviceProfile profile) {
+        this.profile = profile;
+        this.sensorTypes = profile.getSensorTypes();
+    }
+
+    public int getSlot() {
+        return slot;
+    }
+
+    public void setSlot(int slot) {
+        this.slot = slot;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void setReady(boolean ready) {
+        this.ready = ready;
+    }
+
+    public long nextSequence() {
+        return SEQUENCE.incrementAndGet(this);
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public void setSequence(long sequence) {
+        this.sequence = sequence;
+    }
+
     @Override
     public String toString() {
-        return "SimulatedDevice{id=" + id + ", sensorTypes=" + sensorTypes + ", connected=" + connected + '}';
+        return "SimulatedDevice{id=" + id + ", profile=" + (profile != null ? profile.getName() : null)
+                + ", sensorTypes=" + sensorTypes + ", connected=" + connected + '}';
     }
 }
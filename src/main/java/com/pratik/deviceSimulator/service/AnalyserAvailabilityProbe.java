@@ -0,0 +1,100 @@
+package com.pratik.deviceSimulator.service;
+
+import com.pratik.deviceSimulator.config.SimulatorConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Tracks whether the analyser answers its health endpoint. Probed in the background with
+ * short timeouts so nothing ever blocks on the analyser.
+ *
+ * Analyser availability drives the application's {@link ReadinessState} (and so
+ * /actuator/health/readiness), never liveness: a pod leaves rotation while the analyser is
+ * down but is not restarted for it. Readiness is only switched back on if this class was the
+ * one that refused traffic.
+ */
+@Component
+public class AnalyserAvailabilityProbe {
+
+    private static final Logger logger = LoggerFactory.getLogger(AnalyserAvailabilityProbe.class);
+
+    private final SimulatorConfig config;
+    private final RestTemplate restTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ApplicationAvailability availability;
+    private volatile boolean analyserUp;
+    private volatile boolean refusedTraffic;
+    private volatile String lastError;
+
+    public AnalyserAvailabilityProbe(SimulatorConfig config, ApplicationEventPublisher eventPublisher,
+                                     ApplicationAvailability availability) {
+        this.config = config;
+        this.eventPublisher = eventPublisher;
+        this.availability = availability;
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(config.getAnalyserProbeTimeoutMs());
+        requestFactory.setReadTimeout(config.getAnalyserProbeTimeoutMs());
+        this.restTemplate = new RestTemplate(requestFactory);
+    }
+
+    public String getHealthUrl() {
+        if (config.getAnalyserHealthUrl() != null && !config.getAnalyserHealthUrl().isBlank()) {
+            return config.getAnalyserHealthUrl();
+        }
+        return config.getTargetUrl().replace("/sensor", "/actuator/health");
+    }
+
+    public boolean isAnalyserUp() {
+        return analyserUp;
+    }
+
+    /** Pings the analyser once, records the outcome and updates readiness. */
+    public boolean probe() {
+        boolean up = false;
+        try {
+            ResponseEntity<String> resp = restTemplate.getForEntity(getHealthUrl(), String.class);
+            up = resp != null && resp.getStatusCode().is2xxSuccessful();
+            lastError = up ? null : "HTTP " + (resp == null ? "no response" : resp.getStatusCode());
+        } catch (Exception e) {
+            lastError = e.getMessage();
+        }
+        record(up);
+        return up;
+    }
+
+    void record(boolean up) {
+        if (up != analyserUp) {
+            logger.info("Analyser availability changed: {}{}", up ? "UP" : "DOWN", up || lastError == null ? "" : " (" + lastError + ")");
+        }
+        analyserUp = up;
+        updateReadiness(up);
+    }
+
+    private void updateReadiness(boolean up) {
+        ReadinessState current = availability.getReadinessState();
+        if (!up && current != ReadinessState.REFUSING_TRAFFIC) {
+            // also re-applied after startup marks the application ready while the analyser is still down
+            refusedTraffic = true;
+            AvailabilityChangeEvent.publish(eventPublisher, this, ReadinessState.REFUSING_TRAFFIC);
+        } else if (up && refusedTraffic) {
+            refusedTraffic = false;
+            if (current == ReadinessState.REFUSING_TRAFFIC) {
+                AvailabilityChangeEvent.publish(eventPublisher, this, ReadinessState.ACCEPTING_TRAFFIC);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${simulator.analyser-probe-interval-ms:5000}")
+    public void scheduledProbe() {
+        probe();
+    }
+}
@@ -0,0 +1,190 @@
+package com.pratik.deviceSimulator.service;
+
+import com.pratik.deviceSimulator.dto.DeviceReadingsDto;
+import com.pratik.deviceSimulator.dto.SensorRegistrationDto;
+import com.pratik.deviceSimulator.dto.VerificationReportDto;
+import com.pratik.deviceSimulator.model.SimulatedDevice;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Checks readings that came back through the analyser (or the embedded sink) against what
+ * the simulator emitted: loss, duplication, reordering and one-way latency.
+ *
+ * Per device it keeps the highest sequence seen plus a 64-bit bitmap of the 64 sequences
+ * below it (24 bytes per device including the start baseline). A sequence inside the window
+ * is a duplicate if its bit is already set, otherwise a reordered arrival; anything older
+ * than the window is counted as late. Loss is emitted minus unique arrivals.
+ */
+@Component
+public class DeliveryVerifier {
+
+    private static final Logger logger = LoggerFactory.getLogger(DeliveryVerifier.class);
+    private static final int WINDOW = 64;
+    private static final int LOCK_STRIPES = 64;
+
+    private volatile State state;
+
+    /** Starts a fresh verification window; sequences emitted before this call are ignored. */
+    public synchronized void start(List<SimulatedDevice> devices, String source) {
+        state = new State(devices, source);
+        logger.info("Delivery verification started for {} devices (source {})", devices.size(), source);
+    }
+
+    public synchronized void stop() {
+        State s = state;
+        if (s != null) {
+            s.active = false;
+        }
+    }
+
+    public boolean isActive() {
+        State s = state;
+        return s != null && s.active;
+    }
+
+    public void record(SensorRegistrationDto reading) {
+        record(reading.getDeviceId(), reading.getSequence(), reading.getSentAtEpochNanos(), EpochNanos.now());
+    }
+
+    public void record(DeviceReadingsDto readings) {
+        record(readings.getDeviceId(), readings.getSequence(), readings.getSentAtEpochNanos(), EpochNanos.now());
+    }
+
+    void record(Long deviceId, Long sequence, Long sentAtEpochNanos, long receivedAtEpochNanos) {
+        State s = state;
+        if (s == null || !s.active) return;
+        int slot = deviceId == null ? -1 : s.slotOf(deviceId);
+        if (slot < 0 || sequence == null) {
+            s.unmatched.increment();
+            return;
+        }
+        long seq = sequence;
+        if (seq <= s.baseline[slot]) return; // emitted before verification started
+
+        s.received.increment();
+        if (sentAtEpochNanos != null) {
+            s.latencyMicros.recordValue(Math.max(0, (receivedAtEpochNanos - sentAtEpochNanos) / 1_000));
+        }
+
+        synchronized (s.locks[slot % LOCK_STRIPES]) {
+            long highest = s.highest[slot];
+            if (seq > highest) {
+                long shift = seq - highest;
+                s.window[slot] = (shift >= WINDOW ? 0L : s.window[slot] << shift) | 1L;
+                s.highest[slot] = seq;
+                s.unique.increment();
+            } else {
+                long back = highest - seq;
+                if (back >= WINDOW) {
+                    s.late.increment();
+                    s.unique.increment();
+                } else {
+                    long mask = 1L << back;
+                    if ((s.window[slot] & mask) != 0) {
+                        s.duplicates.increment();
+                    } else {
+                        s.window[slot] |= mask;
+                        s.reordered.increment();
+                        s.unique.increment();
+                    }
+                }
+            }
+        }
+    }
+
+    public VerificationReportDto report(List<SimulatedDevice> devices) {
+        VerificationReportDto dto = new VerificationReportDto();
+        State s = state;
+        if (s == null) return dto;
+
+        long expected = 0;
+        for (SimulatedDevice d : devices) {
+            int slot = d.getSlot();
+            if (slot < s.baseline.length) {
+                expected += Math.max(0, d.getSequence() - s.baseline[slot]);
+            }
+        }
+        long unique = s.unique.sum();
+        Histogram latency = s.latencyMicros.copy();
+
+        dto.setActive(s.active);
+        dto.setSource(s.source);
+        dto.setExpected(expected);
+        dto.setReceived(s.received.sum());
+        dto.setUnique(unique);
+        dto.setLost(Math.max(0, expected - unique));
+        dto.setDuplicates(s.duplicates.sum());
+        dto.setReordered(s.reordered.sum());
+        dto.setLate(s.late.sum());
+        dto.setLossRate(expected == 0 ? 0.0 : (double) Math.max(0, expected - unique) / expected);
+        if (latency.getTotalCount() > 0) {
+            dto.setLatencyP50Ms(latency.getValueAtPercentile(50) / 1000.0);
+            dto.setLatencyP99Ms(latency.getValueAtPercentile(99) / 1000.0);
+            dto.setLatencyMaxMs(latency.getMaxValue() / 1000.0);
+        }
+        return dto;
+    }
+
+    private static final class State {
+        final String source;
+        volatile boolean active = true;
+        // target id (analyser id, else local id) -> slot, as sorted parallel arrays
+        final long[] sortedTargetIds;
+        final int[] slotsByTargetId;
+        final long[] baseline;
+        final long[] highest;
+        final long[] window;
+        final Object[] locks = new Object[LOCK_STRIPES];
+        final LongAdder received = new LongAdder();
+        final LongAdder unique = new LongAdder();
+        final LongAdder duplicates = new LongAdder();
+        final LongAdder reordered = new LongAdder();
+        final LongAdder late = new LongAdder();
+        final LongAdder unmatched = new LongAdder();
+        final ConcurrentHistogram latencyMicros = new ConcurrentHistogram(3);
+
+        State(List<SimulatedDevice> devices, String source) {
+            this.source = source;
+            int n = devices.size();
+            int slots = 0;
+            for (SimulatedDevice d : devices) {
+                slots = Math.max(slots, d.getSlot() + 1);
+            }
+            this.baseline = new long[slots];
+            this.highest = new long[slots];
+            this.window = new long[slots];
+
+            long[][] pairs = new long[n][];
+            for (int i = 0; i < n; i++) {
+                SimulatedDevice d = devices.get(i);
+                long target = d.getRegisteredId() != null ? d.getRegisteredId() : d.getId();
+                pairs[i] = new long[]{target, d.getSlot()};
+                baseline[d.getSlot()] = d.getSequence();
+                highest[d.getSlot()] = d.getSequence();
+            }
+            Arrays.sort(pairs, (a, b) -> Long.compare(a[0], b[0]));
+            this.sortedTargetIds = new long[n];
+            this.slotsByTargetId = new int[n];
+            for (int i = 0; i < n; i++) {
+                sortedTargetIds[i] = pairs[i][0];
+                slotsByTargetId[i] = (int) pairs[i][1];
+            }
+            for (int i = 0; i < LOCK_STRIPES; i++) {
+                locks[i] = new Object();
+            }
+        }
+
+        int slotOf(long targetId) {
+            int idx = Arrays.binarySearch(sortedTargetIds, targetId);
+            return idx < 0 ? -1 : slotsByTargetId[idx];
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.pratik.deviceSimulator.service;
+
+import com.pratik.deviceSimulator.config.SimulatorConfig;
+import com.pratik.deviceSimulator.model.DeviceProfile;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Builds the {@link DeviceProfile} flyweights from simulator.profiles and spreads a fleet
+ * across them by weight.
+ */
+public final class DeviceProfiles {
+
+    public static final String DEFAULT_NAME = "default";
+
+    private DeviceProfiles() {
+    }
+
+    /**
+     * Resolves the configured profiles. With none configured, returns the single legacy
+     * profile: simulator.sensor-types, one random sensor per tick, the original fault rates.
+     */
+    public static List<DeviceProfile> resolve(SimulatorConfig config) {
+        long pushIntervalMs = Math.max(1, config.getDataPushInterval());
+        List<SimulatorConfig.Profile> configured = config.getProfiles();
+        if (configured == null || configured.isEmpty()) {
+            return List.of(legacy(0, DEFAULT_NAME, config.getSensorTypes()));
+        }
+
+        List<DeviceProfile> out = new ArrayList<>(configured.size());
+        Set<String> names = new HashSet<>();
+        for (int i = 0; i < configured.size(); i++) {
+            SimulatorConfig.Profile p = configured.get(i);
+            String name = p.getName() == null || p.getName().isBlank() ? "profile-" + i : p.getName();
+            if (!names.add(name)) {
+                throw new IllegalStateException("Duplicate device profile name: " + name);
+            }
+            List<String> types = p.getSensorTypes() == null || p.getSensorTypes().isEmpty()
+                    ? config.getSensorTypes() : List.copyOf(p.getSensorTypes());
+            if (types == null || types.isEmpty()) {
+                throw new IllegalStateException("Device profile " + name + " has no sensor types");
+            }
+            String deviceType = p.getDeviceType() == null || p.getDeviceType().isBlank() ? types.get(0) : p.getDeviceType();
+            int everyNTicks = (int) Math.max(1, Math.round((double) p.getReportIntervalMs() / pushIntervalMs));
+            out.add(new DeviceProfile(i, name, p.getWeight(), deviceType, types, p.isGrouped(), everyNTicks, p.getPayloadBytes(),
+                    p.getDisconnectProbability(), p.getReconnectProbability(), p.getAnomalyProbability()));
+        }
+        return out;
+    }
+
+    /** The pre-profile behaviour for the given sensor set. */
+    public static DeviceProfile legacy(int index, String name, List<String> sensorTypes) {
+        List<String> types = sensorTypes == null ? List.of() : sensorTypes;
+        String deviceType = types.isEmpty() ? "UNKNOWN" : types.get(0);
+        return new DeviceProfile(index, name, 1.0, deviceType, types, false, 1, 0, 0.1, 0.5, 0.05);
+    }
+
+    /**
+     * Assigns {@code count} devices to profiles in proportion to their weights using smooth
+     * weighted round-robin: exact shares (to within one device) and interleaved, so any run
+     * of consecutive slots already has roughly the target mix.
+     */
+    public static DeviceProfile[] assign(List<DeviceProfile> profiles, int count) {
+        int p = profiles.size();
+        double total = 0;
+        for (DeviceProfile profile : profiles) total += profile.getWeight();
+        if (p == 0 || total <= 0) {
+            throw new IllegalStateException("At least one device profile needs a positive weight");
+        }
+        DeviceProfile[] out = new DeviceProfile[count];
+        double[] current = new double[p];
+        for (int i = 0; i < count; i++) {
+            int best = 0;
+            for (int j = 0; j < p; j++) {
+                current[j] += profiles.get(j).getWeight();
+                if (current[j] > current[best]) best = j;
+            }
+            current[best] -= total;
+            out[i] = profiles.get(best);
+        }
+        return out;
+    }
+}
@@ -0,0 +1,174 @@
+package com.pratik.deviceSimulator.service;
+
+import com.pratik.deviceSimulator.config.SimulatorConfig;
+import com.pratik.deviceSimulator.dto.DeviceStatsDto;
+import com.pratik.deviceSimulator.model.SimulatedDevice;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.IntFunction;
+
+/**
+ * Per-device send statistics kept in primitive columns indexed by device slot, so memory
+ * is a fixed ~48 bytes per device instead of one Micrometer meter set per device id.
+ *
+ * Sends complete on transport callback threads, so two in-flight sends of one device can
+ * record at the same time: the counters are atomic, while the last/smoothed latency and last
+ * value are plain last-writer-wins stores, which is fine for diagnostics. Top failing devices
+ * come from a Space-Saving sketch (weight 1 per failed send) split into 16 stripes by slot,
+ * so concurrent senders rarely contend on the same lock. Top slowest devices are ranked by
+ * each device's smoothed per-send latency (EWMA, gain 1/8), which lives in its own column
+ * and is scanned on query: the ranking is exact and the send path takes no lock at all.
+ */
+@Component
+public class DeviceStatsStore {
+
+    private static final int STRIPE_BITS = 4;
+    private static final int STRIPES = 1 << STRIPE_BITS;
+
+    private final SpaceSavingSketch[] failureSketches = new SpaceSavingSketch[STRIPES];
+    private volatile Columns columns = new Columns(0);
+
+    public DeviceStatsStore(SimulatorConfig config) {
+        // every stripe gets the full capacity k: a device is then tracked once its failures exceed
+        // its stripe's total / k, which is at most all failures / k, the unstriped guarantee
+        for (int i = 0; i < STRIPES; i++) {
+            failureSketches[i] = new SpaceSavingSketch(config.getStatsTopKCapacity(), 0);
+        }
+    }
+
+    /** Resets all columns and sketches for a fleet of {@code deviceCount} slots. */
+    public synchronized void reset(int deviceCount) {
+        columns = new Columns(deviceCount);
+        // stripe = low bits of the slot, key within the stripe = the remaining bits
+        int keysPerStripe = (deviceCount + STRIPES - 1) >>> STRIPE_BITS;
+        for (SpaceSavingSketch sketch : failureSketches) {
+            sketch.clear();
+            sketch.ensureKeySpace(keysPerStripe);
+        }
+    }
+
+    public void recordSuccess(int slot, long latencyNanos, double value) {
+        Columns c = columns;
+        if (slot >= c.size) return;
+        int micros = (int) Math.min(Integer.MAX_VALUE, latencyNanos / 1_000);
+        c.successes.incrementAndGet(slot);
+        c.lastLatencyMicros[slot] = micros;
+        c.lastValues[slot] = value;
+        smooth(c, slot, micros);
+    }
+
+    public void recordFailure(int slot, long latencyNanos) {
+        Columns c = columns;
+        if (slot >= c.size) return;
+        int micros = (int) Math.min(Integer.MAX_VALUE, latencyNanos / 1_000);
+        c.failures.incrementAndGet(slot);
+        c.lastLatencyMicros[slot] = micros;
+        failureSketches[slot & (STRIPES - 1)].offer(slot >>> STRIPE_BITS, 1);
+        smooth(c, slot, micros);
+    }
+
+    private static void smooth(Columns c, int slot, int micros) {
+        int previous = c.smoothedLatencyMicros[slot];
+        // 0 means no sample yet: seed with the first latency instead of decaying up from zero
+        c.smoothedLatencyMicros[slot] = Math.max(1, previous == 0 ? micros : previous + ((micros - previous) >> 3));
+    }
+
+    public void recordReconnect(int slot) {
+        Columns c = columns;
+        if (slot >= c.size) return;
+        c.reconnects.incrementAndGet(slot);
+    }
+
+    public DeviceStatsDto statsFor(SimulatedDevice device) {
+        Columns c = columns;
+        DeviceStatsDto dto = new DeviceStatsDto();
+        dto.setDeviceId(device.getId());
+        dto.setRegisteredId(device.getRegisteredId());
+        int slot = device.getSlot();
+        if (slot < c.size) {
+            dto.setSuccessCount(c.successes.get(slot));
+            dto.setFailureCount(c.failures.get(slot));
+            dto.setReconnectCount(c.reconnects.get(slot));
+            dto.setLastLatencyMs(c.lastLatencyMicros[slot] / 1000.0);
+            dto.setSmoothedLatencyMs(c.smoothedLatencyMicros[slot] / 1000.0);
+            dto.setLastValue(c.lastValues[slot]);
+        }
+        return dto;
+    }
+
+    public List<DeviceStatsDto> topFailing(int k, IntFunction<SimulatedDevice> deviceBySlot) {
+        List<SpaceSavingSketch.Entry> entries = new ArrayList<>();
+        for (int stripe = 0; stripe < STRIPES; stripe++) {
+            for (SpaceSavingSketch.Entry e : failureSketches[stripe].top(k)) {
+                int slot = (e.getKey() << STRIPE_BITS) | stripe;
+                entries.add(new SpaceSavingSketch.Entry(slot, e.getCount(), e.getError()));
+            }
+        }
+        return toDtos(heaviest(entries, k), deviceBySlot);
+    }
+
+    /** Devices with the highest smoothed per-send latency, slowest first. */
+    public List<DeviceStatsDto> topSlowest(int k, IntFunction<SimulatedDevice> deviceBySlot) {
+        Columns c = columns;
+        if (k <= 0) return List.of();
+        PriorityQueue<SpaceSavingSketch.Entry> top =
+                new PriorityQueue<>(k + 1, Comparator.comparingLong(SpaceSavingSketch.Entry::getCount));
+        for (int slot = 0; slot < c.size; slot++) {
+            int micros = c.smoothedLatencyMicros[slot];
+            if (micros == 0) continue;
+            if (top.size() < k) {
+                top.add(new SpaceSavingSketch.Entry(slot, micros, 0));
+            } else if (micros > top.peek().getCount()) {
+                top.poll();
+                top.add(new SpaceSavingSketch.Entry(slot, micros, 0));
+            }
+        }
+        return toDtos(heaviest(new ArrayList<>(top), k), deviceBySlot);
+    }
+
+    private static List<SpaceSavingSketch.Entry> heaviest(List<SpaceSavingSketch.Entry> entries, int k) {
+        entries.sort(Comparator.comparingLong(SpaceSavingSketch.Entry::getCount).reversed());
+        return entries.size() > k ? entries.subList(0, Math.max(0, k)) : entries;
+    }
+
+    private List<DeviceStatsDto> toDtos(List<SpaceSavingSketch.Entry> entries, IntFunction<SimulatedDevice> deviceBySlot) {
+        List<DeviceStatsDto> result = new ArrayList<>(entries.size());
+        for (SpaceSavingSketch.Entry e : entries) {
+            SimulatedDevice device = deviceBySlot.apply(e.getKey());
+            if (device == null) continue;
+            DeviceStatsDto dto = statsFor(device);
+            dto.setRankWeight(e.getCount());
+            dto.setRankError(e.getError());
+            result.add(dto);
+        }
+        return result;
+    }
+
+    private static final class Columns {
+        final int size;
+        final AtomicLongArray successes;
+        final AtomicLongArray failures;
+        final AtomicIntegerArray reconnects;
+        final int[] lastLatencyMicros;
+        final int[] smoothedLatencyMicros;
+        final double[] lastValues;
+
+        Columns(int size) {
+            this.size = size;
+            this.successes = new AtomicLongArray(size);
+            this.failures = new AtomicLongArray(size);
+            this.reconnects = new AtomicIntegerArray(size);
+            this.lastLatencyMicros = new int[size];
+            this.smoothedLatencyMicros = new int[size];
+            this.lastValues = new double[size];
+            Arrays.fill(lastValues, Double.NaN);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.pratik.deviceSimulator.service;
+
+import java.time.Instant;
+
+/**
+ * Wall-clock time as nanoseconds since the epoch, at the best precision the platform clock offers.
+ */
+public final class EpochNanos {
+
+    private EpochNanos() {
+    }
+
+    public static long now() {
+        Instant now = Instant.now();
+        return now.getEpochSecond() * 1_000_000_000L + now.getNano();
+    }
+}
@@ -0,0 +1,124 @@
+package com.pratik.deviceSimulator.service;
+
+import com.pratik.deviceSimulator.config.SimulatorConfig;
+import org.slf4j.Logger;
+import org.slf4j.event.Level;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Coalesces repeated per-device log events into periodic summaries such as
+ * "4,812 sends failed: Connection refused", so an outage across the fleet produces a few
+ * lines per interval instead of one per device per tick.
+ *
+ * Events are keyed by (logger, level, event, reason) and counted in a LongAdder; the hot
+ * path never formats a message or touches an appender. At most
+ * simulator.log-sampler-max-keys distinct keys are tracked, anything beyond that is folded
+ * into one "other" bucket per event; a key is dropped after a whole interval without events.
+ */
+@Component
+public class LogSampler implements DisposableBean {
+
+    static final String OTHER_REASON = "other reasons";
+    private static final int MAX_REASON_LENGTH = 160;
+
+    private final int maxKeys;
+    private final Map<Key, Counter> counts = new ConcurrentHashMap<>();
+    private volatile long windowStartMs = System.currentTimeMillis();
+
+    public LogSampler(SimulatorConfig config) {
+        this.maxKeys = Math.max(1, config.getLogSamplerMaxKeys());
+    }
+
+    /** Counts one occurrence of {@code event}; {@code reason} may be null. */
+    public void count(Logger target, Level level, String event, String reason) {
+        if (!target.isEnabledForLevel(level)) return;
+        Key key = new Key(target, level, event, reason);
+        long n = 1;
+        while (n > 0) {
+            Counter counter = counts.get(key);
+            if (counter == null) {
+                if (counts.size() >= maxKeys) {
+                    key = new Key(target, level, event, OTHER_REASON);
+                }
+                counter = counts.computeIfAbsent(key, k -> new Counter());
+            }
+            counter.add(n);
+            // pruned by a flush after we fetched it: whatever the flush did not take moves to the live counter
+            n = counter.closed ? counter.sumThenReset() : 0;
+        }
+    }
+
+    /** Counts a failure, using the root cause's message (or its type when there is none) as the reason. */
+    public void countFailure(Logger target, Level level, String event, Throwable error) {
+        count(target, level, event, reasonFor(error));
+    }
+
+    @Scheduled(fixedRateString = "${simulator.log-summary-interval-ms:5000}")
+    public void flush() {
+        for (Summary s : drain()) {
+            s.target.atLevel(s.level).log("{} in the last {} ms", s.message(), s.windowMs);
+        }
+    }
+
+    List<Summary> drain() {
+        long now = System.currentTimeMillis();
+        long windowMs = now - windowStartMs;
+        windowStartMs = now;
+        List<Summary> out = new ArrayList<>();
+        for (Map.Entry<Key, Counter> e : counts.entrySet()) {
+            // counters stay in the map, so an increment racing with the flush lands in the next window
+            Counter counter = e.getValue();
+            long n = counter.sumThenReset();
+            if (n == 0 && counts.remove(e.getKey(), counter)) {
+                // idle for a whole window: make room for other reasons
+                counter.closed = true;
+                n = counter.sumThenReset();
+            }
+            if (n > 0) {
+                Key k = e.getKey();
+                out.add(new Summary(k.target, k.level, k.event, k.reason, n, windowMs));
+            }
+        }
+        return out;
+    }
+
+    static String reasonFor(Throwable error) {
+        if (error == null) return null;
+        Throwable root = error;
+        while (root.getCause() != null && root.getCause() != root) {
+            root = root.getCause();
+        }
+        String msg = root.getMessage();
+        String reason = msg == null || msg.isBlank() ? root.getClass().getSimpleName() : msg;
+        return reason.length() > MAX_REASON_LENGTH ? reason.substring(0, MAX_REASON_LENGTH) + "..." : reason;
+    }
+
+    @Override
+    public void destroy() {
+        flush();
+    }
+
+    /** A writer that finds {@code closed} after adding hands its count back (see {@link #count}). */
+    private static final class Counter extends LongAdder {
+        private static final long serialVersionUID = 1L;
+
+        volatile boolean closed;
+    }
+
+    private record Key(Logger target, Level level, String event, String reason) {
+    }
+
+    record Summary(Logger target, Level level, String event, String reason, long count, long windowMs) {
+        String message() {
+            return String.format("%,d %s", count, event) + (reason == null ? "" : ": " + reason);
+        }
+    }
+}
@@ -1,24 +1,39 @@
 package com.pratik.deviceSimulator.service;
 
 import com.pratik.deviceSimulator.config.SimulatorConfig;
+import com.pratik.deviceSimulator.config.SnapshotableRandom;
+import com.pratik.deviceSimulator.dto.DeviceReadingsDto;
 import com.pratik.deviceSimulator.dto.DeviceResponseDto;
+import com.pratik.deviceSimulator.dto.DeviceStatsDto;
 import com.pratik.deviceSimulator.dto.SensorRegistrationDto;
+import com.pratik.deviceSimulator.dto.VerificationReportDto;
+import com.pratik.deviceSimulator.model.DeviceProfile;
+import com.pratik.deviceSimulator.model.FleetSnapshot;
 import com.pratik.deviceSimulator.model.SimulatedDevice;
+import com.pratik.deviceSimulator.transport.SensorTransport;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.slf4j.event.Level;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.messaging.simp.stomp.StompSession;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.time.Instant;
 import java.util.*;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 @Service
 public class MultiDeviceSimulatorService {
@@ -35,20 +50,55 @@ public class MultiDeviceSimulatorService {
     private final Counter disconnectionCounter;
     private final Counter reconnectionCounter;
     private volatile boolean simulationEnabled = true;
+    private volatile List<DeviceProfile> profiles = List.of();
+    private final AtomicLong ticks = new AtomicLong();
+    // ticks and registrations mutate devices and the RNG under the read lock (many at once);
+    // snapshots take the write lock, so they never see a device halfway through an update
+    private final ReentrantReadWriteLock fleetLock = new ReentrantReadWriteLock();
 
     // keep this; your WebSocketClientService provides sendSensorData(dto) (your logs show it)
     private final WebSocketClientService webSocketClientService;
+    private final SimulationSnapshotService snapshotService;
+    private final AnalyserAvailabilityProbe analyserProbe;
+    private final SimulatorWorkExecutor workExecutor;
+    private final SimulatorTelemetry telemetry;
+    private final DeviceStatsStore deviceStats;
+    private final SensorTransport transport;
+    private final DeliveryVerifier verifier;
+    private final LogSampler logSampler;
+    private final RunReportService runReports;
+    private final String sendFailedEvent;
+    private volatile StompSession.Subscription verificationSubscription;
 
     public MultiDeviceSimulatorService(SimulatorConfig config,
                                        RestTemplate restTemplate,
                                        Random random,
                                        MeterRegistry meterRegistry,
-                                       WebSocketClientService webSocketClientService) {
+                                       WebSocketClientService webSocketClientService,
+                                       SimulationSnapshotService snapshotService,
+                                       AnalyserAvailabilityProbe analyserProbe,
+                                       SimulatorWorkExecutor workExecutor,
+                                       SimulatorTelemetry telemetry,
+                                       DeviceStatsStore deviceStats,
+                                       SensorTransport transport,
+                                       DeliveryVerifier verifier,
+                                       LogSampler logSampler,
+                                       RunReportService runReports) {
         this.config = Objects.requireNonNull(config, "SimulatorConfig required");
         this.restTemplate = Objects.requireNonNull(restTemplate, "RestTemplate required");
         this.random = Objects.requireNonNull(random, "Random required");
         this.meterRegistry = Objects.requireNonNull(meterRegistry, "MeterRegistry required");
         this.webSocketClientService = Objects.requireNonNull(webSocketClientService, "WebSocketClientService required");
+        this.snapshotService = Objects.requireNonNull(snapshotService, "SimulationSnapshotService required");
+        this.analyserProbe = Objects.requireNonNull(analyserProbe, "AnalyserAvailabilityProbe required");
+        this.workExecutor = Objects.requireNonNull(workExecutor, "SimulatorWorkExecutor required");
+        this.telemetry = Objects.requireNonNull(telemetry, "SimulatorTelemetry required");
+        this.deviceStats = Objects.requireNonNull(deviceStats, "DeviceStatsStore required");
+        this.transport = Objects.requireNonNull(transport, "SensorTransport required");
+        this.verifier = Objects.requireNonNull(verifier, "DeliveryVerifier required");
+        this.logSampler = Objects.requireNonNull(logSampler, "LogSampler required");
+        this.runReports = Objects.requireNonNull(runReports, "RunReportService required");
+        this.sendFailedEvent = "sends failed via " + transport.name();
 
         this.anomalyCounter = meterRegistry.counter("simulator.anomalies");
         this.sentDataCounter = meterRegistry.counter("simulator.data.sent");
@@ -58,16 +108,12 @@ public class MultiDeviceSimulatorService {
 
     private boolean waitForAnalyserUp(String healthUrl, int maxAttempts, long delayMs) {
         for (int i = 1; i <= maxAttempts; i++) {
-            try {
-                logger.info("Pinging analyser (attempt {}/{}): {}", i, maxAttempts, healthUrl);
-                ResponseEntity<String> resp = restTemplate.getForEntity(healthUrl, String.class);
-                if (resp != null && resp.getStatusCode().is2xxSuccessful()) {
-                    logger.info("Analyser is up (200 OK).");
-                    return true;
-                }
-            } catch (Exception e) {
-                logger.debug("Analyser ping failed (attempt {}): {}", i, e.getMessage());
+            logger.info("Pinging analyser (attempt {}/{}): {}", i, maxAttempts, healthUrl);
+            if (analyserProbe.probe()) {
+                logger.info("Analyser is up (200 OK).");
+                return true;
             }
+            logger.debug("Analyser ping failed (attempt {})", i);
             try {
                 Thread.sleep(delayMs);
             } catch (InterruptedException ie) {
@@ -88,17 +134,17 @@ public class MultiDeviceSimulatorService {
         while (tries < 5) {
             tries++;
             try {
-                logger.info("Registering device -> URL: {}, payload: {} (try {})", deviceRegistrationUrl, body, tries);
+                logger.debug("Registering device -> URL: {}, payload: {} (try {})", deviceRegistrationUrl, body, tries);
                 ResponseEntity<DeviceResponseDto> resp = restTemplate.postForEntity(deviceRegistrationUrl, body, DeviceResponseDto.class);
                 if (resp != null && resp.getStatusCode() == HttpStatus.CREATED && resp.getBody() != null) {
                     Long assigned = resp.getBody().getDeviceId();
-                    logger.info("Device {} registration OK -> analyser-assigned id {}", localDeviceId, assigned);
+                    logger.debug("Device {} registration OK -> analyser-assigned id {}", localDeviceId, assigned);
                     return assigned;
                 } else {
-                    logger.warn("Device {} registration returned unexpected response: {}", localDeviceId, resp);
+                    logSampler.count(logger, Level.WARN, "registration attempts got an unexpected response", resp == null ? "no response" : String.valueOf(resp.getStatusCode()));
                 }
             } catch (RestClientException e) {
-                logger.warn("Device {} registration attempt {} failed: {}", localDeviceId, tries, e.toString());
+                logSampler.countFailure(logger, Level.WARN, "registration attempts failed", e);
             }
 
             try {
@@ -108,7 +154,7 @@ public class MultiDeviceSimulatorService {
                 break;
             }
         }
-        logger.error("Device {} registration failed after {} tries", localDeviceId, tries);
+        logSampler.count(logger, Level.ERROR, "device registrations failed", "gave up after " + tries + " tries");
         return null;
     }
 
@@ -123,14 +169,42 @@ public class MultiDeviceSimulatorService {
             throw new IllegalStateException("Target URL cannot be null or empty");
         }
 
+        profiles = DeviceProfiles.resolve(config);
+        runReports.startRun(); // the run itself begins with the first sends
+
+        // warm start: a snapshot already carries the registered ids, so skip health wait and registration
+        if (config.isSnapshotLoadOnStartup() && snapshotPath() != null && Files.isRegularFile(snapshotPath())) {
+            try {
+                restoreSnapshot();
+                return;
+            } catch (IOException | RuntimeException e) {
+                logger.warn("Could not restore snapshot {}, falling back to full init: {}", snapshotPath(), e.getMessage());
+            }
+        }
+
+        boolean async = config.getStartupMode() == SimulatorConfig.StartupMode.ASYNC;
+        List<SimulatedDevice> generated = new ArrayList<>(config.getDeviceCount());
+        DeviceProfile[] assigned = DeviceProfiles.assign(profiles, config.getDeviceCount());
         for (int i = 1; i <= config.getDeviceCount(); i++) {
-            devices.add(new SimulatedDevice((long) i, config.getSensorTypes()));
+            SimulatedDevice d = new SimulatedDevice((long) i, assigned[i - 1]);
+            d.setSlot(i - 1);
+            d.setReady(!async);
+            generated.add(d);
         }
-        logger.info(">>> Generated {} devices: {}", devices.size(), devices);
+        deviceStats.reset(generated.size());
+        devices.addAll(generated); // one copy instead of one per device
+        telemetry.setConnectedDevices(generated.size());
+        logger.info(">>> Generated {} devices across profiles {}", devices.size(), profileMix(generated));
 
         // build urls (use getTargetUrl() - no extra getter required)
         final String deviceRegistrationUrl = (config.getDeviceRegistrationUrl() != null && !config.getDeviceRegistrationUrl().isBlank()) ? config.getDeviceRegistrationUrl() : config.getTargetUrl().replace("/sensor", "/device");
-        final String healthUrl = config.getTargetUrl().replace("/sensor", "/actuator/health");
+        final String healthUrl = analyserProbe.getHealthUrl();
+
+        if (async) {
+            // context comes up now; devices start emitting one by one as their registration completes
+            workExecutor.submit(() -> registerDevicesInBackground(deviceRegistrationUrl));
+            return;
+        }
 
         if (!waitForAnalyserUp(healthUrl, 20, 500)) {
             throw new IllegalStateException("Analyser health endpoint not reachable at " + healthUrl);
@@ -138,50 +212,327 @@ public class MultiDeviceSimulatorService {
 
         // register devices and capture assigned IDs
         for (SimulatedDevice d : devices) {
-            String deviceType = pickDeviceType(d.getSensorTypes());
-            Long assigned = registerOneDevice(d.getId(), deviceType, deviceRegistrationUrl);
+            registerAndActivate(d, deviceRegistrationUrl);
+        }
+
+        // WebSocket connect step is optional. Some projects don't expose a connect() method.
+        // To avoid compile errors we do NOT call webSocketClientService.connect() here.
+        // If your WebSocketClientService does provide connect(), add it back or implement it.
+    }
+
+    private void registerAndActivate(SimulatedDevice d, String deviceRegistrationUrl) {
+        String deviceType = d.getProfile() != null ? d.getProfile().getDeviceType() : pickDeviceType(d.getSensorTypes());
+        Long assigned = registerOneDevice(d.getId(), deviceType, deviceRegistrationUrl); // no lock held over HTTP
+        fleetLock.readLock().lock();
+        try {
             if (assigned != null) {
                 d.setRegisteredId(assigned); // store analyser id
             } else {
-                logger.warn("Proceeding without assigned id for local device {}", d.getId());
+                logSampler.count(logger, Level.WARN, "devices proceeding without an analyser-assigned id", null);
             }
+            d.setReady(true);
+        } finally {
+            fleetLock.readLock().unlock();
         }
+    }
 
-        // WebSocket connect step is optional. Some projects don't expose a connect() method.
-        // To avoid compile errors we do NOT call webSocketClientService.connect() here.
-        // If your WebSocketClientService does provide connect(), add it back or implement it.
+    /**
+     * ASYNC startup: waits (without holding up the context) until the analyser answers,
+     * then registers up to {@code simulator.registration-parallelism} devices at a time.
+     */
+    private void registerDevicesInBackground(String deviceRegistrationUrl) {
+        long delayMs = 500;
+        while (!analyserProbe.probe()) {
+            logger.debug("Analyser not up yet, retrying in {} ms", delayMs);
+            try {
+                Thread.sleep(delayMs);
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                logger.warn("Interrupted while waiting for analyser; devices stay unregistered");
+                return;
+            }
+            delayMs = Math.min(delayMs * 2, Math.max(500, config.getAnalyserProbeIntervalMs()));
+        }
+
+        List<SimulatedDevice> pending = new ArrayList<>(devices);
+        int parallelism = Math.max(1, config.getRegistrationParallelism());
+        logger.info(">>> Analyser is up; registering {} devices in the background (parallelism {})", pending.size(), parallelism);
+        try {
+            workExecutor.forEach(pending, parallelism, d -> {
+                if (!d.isReady()) {
+                    registerAndActivate(d, deviceRegistrationUrl);
+                }
+            });
+            logger.info(">>> Background registration finished");
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            logger.warn("Background registration interrupted");
+        }
+    }
+
+    /**
+     * Writes the complete fleet state (devices, connection flags, registered ids,
+     * simulation flag and RNG position) to {@code simulator.snapshot-path}.
+     */
+    public FleetSnapshot saveSnapshot() throws IOException {
+        Path path = snapshotPath();
+        if (path == null) {
+            throw new IllegalStateException("simulator.snapshot-path is not configured");
+        }
+        FleetSnapshot snapshot = captureSnapshot();
+        snapshotService.write(snapshot, path);
+        return snapshot;
+    }
+
+    /**
+     * Replaces the in-memory fleet with the one stored at {@code simulator.snapshot-path}.
+     */
+    public FleetSnapshot restoreSnapshot() throws IOException {
+        Path path = snapshotPath();
+        if (path == null) {
+            throw new IllegalStateException("simulator.snapshot-path is not configured");
+        }
+        FleetSnapshot snapshot = snapshotService.read(path);
+        applySnapshot(snapshot);
+        return snapshot;
+    }
+
+    private FleetSnapshot captureSnapshot() {
+        fleetLock.writeLock().lock();
+        try {
+            return captureSnapshotLocked();
+        } finally {
+            fleetLock.writeLock().unlock();
+        }
+    }
+
+    private FleetSnapshot captureSnapshotLocked() {
+        SimulatedDevice[] current = devices.toArray(new SimulatedDevice[0]);
+        int n = current.length;
+        long[] ids = new long[n];
+        long[] registeredIds = new long[n];
+        int[] setIndexes = new int[n];
+        boolean[] connected = new boolean[n];
+        long[] sequences = new long[n];
+        int[] profileIndexes = new int[n];
+        List<String> profileNames = profiles.stream().map(DeviceProfile::getName).toList();
+        List<List<String>> sensorSets = new ArrayList<>();
+        Map<List<String>, Integer> setIndexByList = new HashMap<>();
+
+        for (int i = 0; i < n; i++) {
+            SimulatedDevice d = current[i];
+            ids[i] = d.getId();
+            registeredIds[i] = d.getRegisteredId() != null ? d.getRegisteredId() : FleetSnapshot.NO_REGISTERED_ID;
+            List<String> types = d.getSensorTypes() != null ? d.getSensorTypes() : List.of();
+            setIndexes[i] = setIndexByList.computeIfAbsent(types, t -> {
+                sensorSets.add(t);
+                return sensorSets.size() - 1;
+            });
+            connected[i] = d.isConnected();
+            sequences[i] = d.getSequence();
+            profileIndexes[i] = d.getProfile() != null ? d.getProfile().getIndex() : FleetSnapshot.NO_PROFILE;
+        }
+
+        long rngState = 0L;
+        if (random instanceof SnapshotableRandom snapshotable) {
+            rngState = snapshotable.getState();
+        } else {
+            logger.warn("Random bean is not snapshotable; RNG position will not be restored");
+        }
+        return new FleetSnapshot(System.currentTimeMillis(), simulationEnabled, rngState,
+                sensorSets, ids, registeredIds, setIndexes, connected, sequences, profileNames, profileIndexes);
+    }
+
+    private void applySnapshot(FleetSnapshot snapshot) {
+        fleetLock.writeLock().lock();
+        try {
+            applySnapshotLocked(snapshot);
+        } finally {
+            fleetLock.writeLock().unlock();
+        }
+    }
+
+    private void applySnapshotLocked(FleetSnapshot snapshot) {
+        int n = snapshot.getDeviceCount();
+        long[] ids = snapshot.getIds();
+        long[] registeredIds = snapshot.getRegisteredIds();
+        int[] setIndexes = snapshot.getSensorSetIndexes();
+        boolean[] connected = snapshot.getConnected();
+        int[] profileIndexes = snapshot.getProfileIndexes();
+
+        Map<String, DeviceProfile> profileByName = new HashMap<>();
+        for (DeviceProfile p : profiles) {
+            profileByName.put(p.getName(), p);
+        }
+        // snapshot profiles that are no longer configured (or pre-profile snapshots) fall back to
+        // the default behaviour for the stored sensor set, one flyweight per set
+        DeviceProfile[] fallbackBySet = new DeviceProfile[snapshot.getSensorSets().size()];
+        int fallbacks = 0;
+
+        List<SimulatedDevice> restored = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            int pi = profileIndexes[i];
+            DeviceProfile profile = pi >= 0 && pi < snapshot.getProfileNames().size()
+                    ? profileByName.get(snapshot.getProfileNames().get(pi)) : null;
+            if (profile == null) {
+                int set = setIndexes[i];
+                if (fallbackBySet[set] == null) {
+                    fallbackBySet[set] = DeviceProfiles.legacy(FleetSnapshot.NO_PROFILE, DeviceProfiles.DEFAULT_NAME, snapshot.getSensorSets().get(set));
+                }
+                profile = fallbackBySet[set];
+                fallbacks++;
+            }
+            SimulatedDevice d = new SimulatedDevice(ids[i], profile);
+            d.setSlot(i);
+            if (registeredIds[i] != FleetSnapshot.NO_REGISTERED_ID) {
+                d.setRegisteredId(registeredIds[i]);
+            }
+            d.setConnected(connected[i]);
+            d.setSequence(snapshot.getSequences()[i]); // resumed runs continue the sequence, no false gaps
+            restored.add(d);
+        }
+
+        if (random instanceof SnapshotableRandom snapshotable) {
+            snapshotable.setState(snapshot.getRngState());
+        }
+        if (fallbacks > 0 && !snapshot.getProfileNames().isEmpty()) {
+            logger.warn("{} restored devices reference profiles that are not configured; using default rates for them", fallbacks);
+        }
+        if (n != config.getDeviceCount()) {
+            logger.warn("Snapshot holds {} devices but simulator.device-count is {}; using the snapshot", n, config.getDeviceCount());
+        }
+        deviceStats.reset(n);
+        devices.clear();
+        devices.addAll(restored);
+        int connectedCount = 0;
+        for (boolean c : connected) {
+            if (c) connectedCount++;
+        }
+        telemetry.setConnectedDevices(connectedCount);
+        simulationEnabled = snapshot.isSimulationEnabled();
+        logger.info(">>> Restored {} devices from snapshot taken at {}", n, Instant.ofEpochMilli(snapshot.getCapturedAtEpochMs()));
+    }
+
+    private Path snapshotPath() {
+        String p = config.getSnapshotPath();
+        return (p == null || p.isBlank()) ? null : Paths.get(p);
+    }
+
+    public Optional<DeviceStatsDto> deviceStats(Long deviceId) {
+        return devices.stream().filter(d -> d.getId().equals(deviceId)).findFirst().map(deviceStats::statsFor);
+    }
+
+    public List<DeviceStatsDto> topFailingDevices(int k) {
+        return deviceStats.topFailing(k, this::deviceAtSlot);
+    }
+
+    public List<DeviceStatsDto> topSlowestDevices(int k) {
+        return deviceStats.topSlowest(k, this::deviceAtSlot);
+    }
+
+    private SimulatedDevice deviceAtSlot(int slot) {
+        try {
+            SimulatedDevice d = devices.get(slot);
+            return d.getSlot() == slot ? d : null;
+        } catch (IndexOutOfBoundsException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Starts end-to-end delivery verification from the current sequence positions. With
+     * source STOMP the analyser's broadcast topic is consumed and the STOMP mirror is paused
+     * until verification stops; with SINK readings arrive through the embedded sink endpoint.
+     */
+    public VerificationReportDto startVerification() {
+        stopVerificationSubscription();
+        List<SimulatedDevice> current = new ArrayList<>(devices);
+        SimulatorConfig.Verification settings = config.getVerification();
+        verifier.start(current, settings.getSource().name());
+        if (settings.getSource() == SimulatorConfig.Verification.Source.STOMP) {
+            if (config.getTransport() == SimulatorConfig.TransportType.STOMP
+                    && WebSocketClientService.SENSOR_DATA_TOPIC.equals(settings.getTopic())) {
+                logger.warn("Verification topic {} is the one the STOMP transport sends on; the simulator's own frames "
+                        + "will be counted as deliveries. Point simulator.verification.topic at an analyser topic", settings.getTopic());
+            }
+            // grouped messages decode too: deviceId, sequence and sentAtEpochNanos are shared fields
+            verificationSubscription = webSocketClientService.subscribe(settings.getTopic(), SensorRegistrationDto.class, verifier::record);
+            if (verificationSubscription == null) {
+                logger.warn("Verification could not subscribe to {}; no readings will be counted", settings.getTopic());
+            }
+        } else if (!settings.isSinkEnabled()) {
+            logger.warn("Verification source is SINK but simulator.verification.sink-enabled=false");
+        }
+        return verifier.report(current);
+    }
+
+    public VerificationReportDto stopVerification() {
+        stopVerificationSubscription();
+        verifier.stop();
+        return verificationReport();
+    }
+
+    public VerificationReportDto verificationReport() {
+        return verifier.report(devices);
+    }
+
+    private void stopVerificationSubscription() {
+        StompSession.Subscription sub = verificationSubscription;
+        verificationSubscription = null;
+        if (sub != null) {
+            try {
+                sub.unsubscribe();
+            } catch (RuntimeException e) {
+                logger.debug("Unsubscribe failed: {}", e.getMessage());
+            }
+        }
+    }
+
+    public void startSimulation() {
+        this.simulationEnabled = true;
+        runReports.startRun();
+    }
+
+    /** Pauses sending and ends the current run, writing its report. */
+    public void stopSimulation() {
+        this.simulationEnabled = false;
+        runReports.finishRun();
     }
 
-    public void startSimulation() { this.simulationEnabled = true; }
-    public void stopSimulation() { this.simulationEnabled = false; }
     public boolean isSimulationEnabled() { return simulationEnabled; }
 
     public void disconnectDevice(Long deviceId) {
-        devices.stream().filter(d -> d.getId().equals(deviceId)).findFirst().ifPresent(d -> d.setConnected(false));
+        devices.stream().filter(d -> d.getId().equals(deviceId)).findFirst().ifPresent(d -> setDeviceConnected(d, false));
     }
 
     public void reconnectDevice(Long deviceId) {
-        devices.stream().filter(d -> d.getId().equals(deviceId)).findFirst().ifPresent(d -> d.setConnected(true));
+        devices.stream().filter(d -> d.getId().equals(deviceId)).findFirst().ifPresent(d -> setDeviceConnected(d, true));
     }
 
     public void injectAnomalyToDevice(Long deviceId) {
-        devices.stream()
-                .filter(d -> d.getId().equals(deviceId) && d.isConnected())
-                .findFirst()
-                .ifPresent(d -> {
-                    for (String type : d.getSensorTypes()) {
-                        double anomaly = generateAnomalousValue(type);
-                        Long targetDeviceId = d.getRegisteredId() != null ? d.getRegisteredId() : d.getId();
-                        SensorRegistrationDto dto = new SensorRegistrationDto(targetDeviceId, anomaly, type, unitFor(type), true);
-                        try {
-                            restTemplate.postForEntity(config.getTargetUrl(), dto, Void.class);
-                            logger.warn("[MANUAL ANOMALY] localId {} targetId {} Type {} => {}", d.getId(), targetDeviceId, type, anomaly);
-                            anomalyCounter.increment();
-                        } catch (Exception e) {
-                            logger.error("Failed to send manual anomaly for device {}: {}", d.getId(), e.getMessage(), e);
+        fleetLock.readLock().lock();
+        try {
+            devices.stream()
+                    .filter(d -> d.getId().equals(deviceId) && d.isConnected())
+                    .findFirst()
+                    .ifPresent(d -> {
+                        for (String type : d.getSensorTypes()) {
+                            double anomaly = generateAnomalousValue(type);
+                            Long targetDeviceId = d.getRegisteredId() != null ? d.getRegisteredId() : d.getId();
+                            SensorRegistrationDto dto = stamp(d, new SensorRegistrationDto(targetDeviceId, anomaly, type, unitFor(type), true));
+                            transport.send(d, dto).whenComplete((ok, e) -> {
+                                if (e == null) {
+                                    logger.warn("[MANUAL ANOMALY] localId {} targetId {} Type {} => {}", d.getId(), targetDeviceId, type, anomaly);
+                                    anomalyCounter.increment();
+                                } else {
+                                    logger.error("Failed to send manual anomaly for device {}: {}", d.getId(), e.getMessage(), e);
+                                }
+                            });
                         }
-                    }
-                });
+                    });
+        } finally {
+            fleetLock.readLock().unlock();
+        }
     }
 
     @Scheduled(fixedRateString = "${simulator.data-push-interval:5000}")
@@ -192,54 +543,153 @@ public class MultiDeviceSimulatorService {
         }
         logger.debug(">>> pushSensorData() @ {}", Instant.now());
 
-        for (SimulatedDevice device : devices) {
-            if (!device.isConnected() && shouldReconnect()) {
-                device.setConnected(true);
-                logger.info("[RECONNECTED] Device {}", device.getId());
-                reconnectionCounter.increment();
-            }
-            if (device.isConnected() && shouldDisconnect()) {
-                device.setConnected(false);
-                logger.info("[DISCONNECTED] Device {}", device.getId());
-                disconnectionCounter.increment();
-            }
+        long tick = ticks.incrementAndGet();
+        fleetLock.readLock().lock();
+        try {
+            // one task per device; returns when every device of this tick has been handled
+            workExecutor.forEach(devices, config.getMaxConcurrentSends(), d -> tickDevice(d, tick));
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            logger.warn("pushSensorData interrupted");
+        } finally {
+            fleetLock.readLock().unlock();
+        }
+    }
 
-            if (device.getSensorTypes() == null || device.getSensorTypes().isEmpty()) continue;
+    private void tickDevice(SimulatedDevice device, long tick) {
+        if (!device.isReady()) return; // ASYNC startup: registration still pending
+        DeviceProfile profile = device.getProfile();
+        if (!profile.isDue(tick, device.getSlot())) return;
 
-            String type = device.getSensorTypes().get(random.nextInt(device.getSensorTypes().size()));
-            Long targetDeviceId = device.getRegisteredId() != null ? device.getRegisteredId() : device.getId();
+        if (!device.isConnected() && chance(profile.getReconnectProbability())) {
+            setDeviceConnected(device, true);
+            deviceStats.recordReconnect(device.getSlot());
+            logSampler.count(logger, Level.INFO, "devices reconnected", null);
+            reconnectionCounter.increment();
+        }
+        if (device.isConnected() && chance(profile.getDisconnectProbability())) {
+            setDeviceConnected(device, false);
+            logSampler.count(logger, Level.INFO, "devices disconnected", null);
+            disconnectionCounter.increment();
+        }
 
-            SensorRegistrationDto dto;
-            if (device.isConnected()) {
-                boolean injected = shouldInjectAnomaly();
-                double value = injected ? generateAnomalousValue(type) : generateValue(type);
-                dto = new SensorRegistrationDto(targetDeviceId, value, type, unitFor(type), true);
-                if (injected) {
-                    logger.warn("[ANOMALY] localId {} targetId {} - Type: {} - Value: {}", device.getId(), targetDeviceId, type, value);
-                    anomalyCounter.increment();
-                }
-            } else {
-                dto = new SensorRegistrationDto(targetDeviceId, Double.NaN, type, unitFor(type), false);
+        if (device.getSensorTypes() == null || device.getSensorTypes().isEmpty()) return;
+
+        Long targetDeviceId = device.getRegisteredId() != null ? device.getRegisteredId() : device.getId();
+        if (profile.isGrouped()) {
+            tickGrouped(device, profile, targetDeviceId);
+            return;
+        }
+
+        String type = device.getSensorTypes().get(random.nextInt(device.getSensorTypes().size()));
+
+        SensorRegistrationDto dto;
+        if (device.isConnected()) {
+            boolean injected = chance(profile.getAnomalyProbability());
+            double value = injected ? generateAnomalousValue(type) : generateValue(type);
+            dto = new SensorRegistrationDto(targetDeviceId, value, type, unitFor(type), true);
+            if (injected) {
+                logSampler.count(logger, Level.WARN, "anomalies injected", type);
+                anomalyCounter.increment();
             }
+        } else {
+            dto = new SensorRegistrationDto(targetDeviceId, Double.NaN, type, unitFor(type), false);
+        }
 
-            try {
-                restTemplate.postForEntity(config.getTargetUrl(), dto, Void.class);
-                // best-effort websocket broadcast (your WebSocketClientService must expose sendSensorData)
-                try {
-                    webSocketClientService.sendSensorData(dto);
-                } catch (Throwable wsEx) {
-                    // keep going if websocket fails - it's optional
-                    logger.debug("WebSocket send error (non-fatal): {}", wsEx.getMessage());
-                }
+        dto.setPadding(profile.getPadding());
+        stamp(device, dto);
+        dto.setDispatchedAtNanos(System.nanoTime());
+        // REST completes inline; pipelined transports (MQTT) complete later on their I/O thread.
+        // Latency runs from the real dispatch: an impaired transport re-stamps it after its delay.
+        transport.send(device, dto).whenComplete((ok, e) -> {
+            long latency = System.nanoTime() - dto.getDispatchedAtNanos();
+            if (e == null) {
+                telemetry.recordSent(type, latency);
+                deviceStats.recordSuccess(device.getSlot(), latency, dto.getValue());
+                mirrorToWebSocket(dto);
                 sentDataCounter.increment();
-                logger.debug("Sent sensor DTO for localId {} targetId {}: {}", device.getId(), targetDeviceId, dto);
-            } catch (Exception e) {
-                logger.error("Failed to send data for local device {} targetId {}: {}", device.getId(), targetDeviceId, e.getMessage());
+                logger.debug("Sent sensor DTO via {} for localId {} targetId {}: {}", transport.name(), device.getId(), targetDeviceId, dto);
+            } else {
+                recordSendFailure(device, latency, e);
+            }
+        });
+    }
+
+    /** Grouped profiles: every sensor of the device in one message with one sequence number. */
+    private void tickGrouped(SimulatedDevice device, DeviceProfile profile, Long targetDeviceId) {
+        List<String> types = profile.getSensorTypes();
+        boolean connected = device.isConnected();
+        DeviceReadingsDto message = new DeviceReadingsDto(targetDeviceId, profile.getName(), connected, types.size());
+        for (String type : types) {
+            boolean injected = connected && chance(profile.getAnomalyProbability());
+            double value = !connected ? Double.NaN : injected ? generateAnomalousValue(type) : generateValue(type);
+            if (injected) {
+                logSampler.count(logger, Level.WARN, "anomalies injected", type);
+                anomalyCounter.increment();
             }
+            message.getReadings().add(new DeviceReadingsDto.Reading(type, value, unitFor(type), injected));
+        }
+        message.setPadding(profile.getPadding());
+        message.setSequence(device.nextSequence());
+        message.setSentAtEpochNanos(EpochNanos.now());
+
+        message.setDispatchedAtNanos(System.nanoTime());
+        transport.sendReadings(device, message).whenComplete((ok, e) -> {
+            long latency = System.nanoTime() - message.getDispatchedAtNanos();
+            if (e == null) {
+                telemetry.recordSent(types, latency);
+                deviceStats.recordSuccess(device.getSlot(), latency, message.getReadings().get(0).getValue());
+                mirrorToWebSocket(message);
+                sentDataCounter.increment(types.size());
+                logger.debug("Sent grouped readings via {} for localId {}: {}", transport.name(), device.getId(), message);
+            } else {
+                recordSendFailure(device, latency, e);
+            }
+        });
+    }
+
+    private void recordSendFailure(SimulatedDevice device, long latencyNanos, Throwable e) {
+        telemetry.recordFailed(latencyNanos);
+        deviceStats.recordFailure(device.getSlot(), latencyNanos);
+        logSampler.countFailure(logger, Level.ERROR, sendFailedEvent, e);
+    }
+
+    private void mirrorToWebSocket(Object dto) {
+        if (!config.isStompMirrorEnabled() || config.getTransport() == SimulatorConfig.TransportType.STOMP) {
+            return;
         }
+        // the mirror publishes to the topic STOMP verification consumes; its echo would be counted
+        // as analyser deliveries, so it pauses while that verification runs
+        if (verificationSubscription != null) {
+            return;
+        }
+        // completion callbacks may run on a transport I/O thread (MQTT); a mirror send that has to
+        // reconnect blocks for seconds, so it never runs there
+        workExecutor.execute(() -> {
+            // best-effort websocket broadcast (your WebSocketClientService must expose sendSensorData)
+            try {
+                webSocketClientService.sendSensorData(dto);
+            } catch (Throwable wsEx) {
+                // keep going if websocket fails - it's optional
+                logger.debug("WebSocket send error (non-fatal): {}", wsEx.getMessage());
+            }
+        });
     }
 
     /* helpers */
+    private SensorRegistrationDto stamp(SimulatedDevice device, SensorRegistrationDto dto) {
+        dto.setSequence(device.nextSequence());
+        dto.setSentAtEpochNanos(EpochNanos.now());
+        return dto;
+    }
+
+    private void setDeviceConnected(SimulatedDevice device, boolean connected) {
+        if (device.isConnected() != connected) {
+            device.setConnected(connected);
+            telemetry.adjustConnectedDevices(connected ? 1 : -1);
+        }
+    }
+
     private double generateValue(String type) {
         return switch (type) {
             case "TEMPERATURE" -> 20 + random.nextDouble() * 20;
@@ -258,9 +708,15 @@ public class MultiDeviceSimulatorService {
         };
     }
 
-    private boolean shouldDisconnect() { return random.nextDouble() < 0.1; }
-    private boolean shouldReconnect() { return random.nextDouble() < 0.5; }
-    private boolean shouldInjectAnomaly() { return random.nextDouble() < 0.05; }
+    private boolean chance(double probability) { return random.nextDouble() < probability; }
+
+    private static Map<String, Integer> profileMix(List<SimulatedDevice> fleet) {
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        for (SimulatedDevice d : fleet) {
+            mix.merge(d.getProfile().getName(), 1, Integer::sum);
+        }
+        return mix;
+    }
 
     private double generateAnomalousValue(String type) {
         return switch (type) {
@@ -0,0 +1,54 @@
+package com.pratik.deviceSimulator.service;
+
+import com.pratik.deviceSimulator.dto.RunComparisonDto;
+import com.pratik.deviceSimulator.dto.RunReportDto;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Diffs two run reports. Throughput regresses when it drops by more than the threshold;
+ * error rate and latency percentiles regress when they grow by more than it. Changes are
+ * relative to the baseline; a metric whose baseline is zero reports a 100% change as soon
+ * as the candidate is non-zero.
+ */
+public final class RunReportComparator {
+
+    // an error rate below this is noise, even against a clean baseline
+    static final double ERROR_RATE_FLOOR = 0.001;
+
+    private RunReportComparator() {
+    }
+
+    public static RunComparisonDto compare(RunReportDto baseline, RunReportDto candidate, double thresholdPercent) {
+        RunComparisonDto out = new RunComparisonDto();
+        out.setBaselineRunId(baseline.getRunId());
+        out.setCandidateRunId(candidate.getRunId());
+        out.setThresholdPercent(thresholdPercent);
+
+        add(out, "meanReadingsPerSec", baseline, candidate, RunReportDto::getMeanReadingsPerSec, true, 0.0);
+        add(out, "errorRate", baseline, candidate, RunReportDto::getErrorRate, false, ERROR_RATE_FLOOR);
+        add(out, "latencyP50Ms", baseline, candidate, RunReportDto::getLatencyP50Ms, false, 0.0);
+        add(out, "latencyP90Ms", baseline, candidate, RunReportDto::getLatencyP90Ms, false, 0.0);
+        add(out, "latencyP99Ms", baseline, candidate, RunReportDto::getLatencyP99Ms, false, 0.0);
+        add(out, "latencyP999Ms", baseline, candidate, RunReportDto::getLatencyP999Ms, false, 0.0);
+        return out;
+    }
+
+    private static void add(RunComparisonDto out, String metric, RunReportDto baseline, RunReportDto candidate,
+                            ToDoubleFunction<RunReportDto> getter, boolean higherIsBetter, double floor) {
+        double b = getter.applyAsDouble(baseline);
+        double c = getter.applyAsDouble(candidate);
+        double change;
+        if (b == 0) {
+            change = c == 0 ? 0.0 : (c > 0 ? 100.0 : -100.0);
+        } else {
+            change = (c - b) / Math.abs(b) * 100.0;
+        }
+        double worsening = higherIsBetter ? -change : change;
+        boolean regression = worsening > out.getThresholdPercent() && (higherIsBetter || c >= floor);
+        out.getMetrics().add(new RunComparisonDto.MetricDelta(metric, b, c, change, regression));
+        if (regression) {
+            out.setRegressed(true);
+        }
+    }
+}
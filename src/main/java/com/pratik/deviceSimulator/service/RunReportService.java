@@ -0,0 +1,466 @@
+package com.pratik.deviceSimulator.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pratik.deviceSimulator.config.SimulatorConfig;
+import com.pratik.deviceSimulator.dto.RunComparisonDto;
+import com.pratik.deviceSimulator.dto.RunReportDto;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Records each load-test run from the telemetry intervals and persists it as two files in
+ * simulator.report.directory: {@code <runId>.hlog}, an HdrHistogram log with one latency
+ * histogram per time bucket, and {@code <runId>.json}, a {@link RunReportDto} summary with
+ * the config, totals, overall percentiles and per-bucket throughput.
+ *
+ * Only the run-wide histogram and the bucket being filled are held as histograms; each bucket
+ * is appended to the .hlog as it closes and kept in memory as a few scalars, so a long run
+ * costs kilobytes rather than one full-precision histogram per bucket.
+ *
+ * A run is armed by {@link #startRun()} and begins with the first interval that saw any
+ * sends, so registration and idle time are not averaged in. {@link #finishRun()} (simulation
+ * stop, shutdown) writes the report and, when simulator.report.baseline is set, compares it
+ * against that stored report.
+ */
+@Service
+public class RunReportService implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(RunReportService.class);
+    private static final Pattern REPORT_ID = Pattern.compile("[A-Za-z0-9._-]+");
+    private static final DateTimeFormatter RUN_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'").withZone(ZoneOffset.UTC);
+
+    private final SimulatorConfig config;
+    private final SimulatorConfig.Report settings;
+    private final ObjectMapper objectMapper;
+
+    private Run current; // guarded by this
+
+    public RunReportService(SimulatorConfig config, SimulatorTelemetry telemetry, ObjectMapper objectMapper) {
+        this.config = config;
+        this.settings = config.getReport();
+        this.objectMapper = objectMapper;
+        telemetry.addIntervalListener(this::onInterval);
+    }
+
+    /** Arms a new run unless one is already in progress. */
+    public synchronized void startRun() {
+        if (!settings.isEnabled() || current != null) return;
+        current = new Run(directory(), settings.getScenario(), Math.max(1, settings.getBucketSeconds()) * 1000L,
+                Math.max(2, settings.getMaxBuckets()));
+    }
+
+    /** Ends the current run and writes its report; returns null when the run recorded nothing. */
+    public synchronized RunReportDto finishRun() {
+        Run run = current;
+        current = null;
+        if (run == null || !run.isStarted()) return null;
+        try {
+            RunReportDto report = write(run, true);
+            compareWithBaseline(report);
+            return report;
+        } catch (IOException e) {
+            logger.error("Could not write run report for {}: {}", run.runId(), e.getMessage());
+            return null;
+        } finally {
+            run.closeLog();
+        }
+    }
+
+    /** Writes the report of the run so far without ending it; a later write replaces it. */
+    public synchronized RunReportDto writeCurrent() throws IOException {
+        Run run = current;
+        if (run == null || !run.isStarted()) {
+            throw new IllegalStateException("No run in progress");
+        }
+        return write(run, false);
+    }
+
+    public List<String> listReports() throws IOException {
+        Path dir = directory();
+        if (!Files.isDirectory(dir)) return List.of();
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.map(p -> p.getFileName().toString())
+                    .filter(name -> name.endsWith(".json"))
+                    .map(name -> name.substring(0, name.length() - ".json".length()))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    public Optional<RunReportDto> readReport(String runId) throws IOException {
+        if (runId == null || !REPORT_ID.matcher(runId).matches()) {
+            throw new IllegalArgumentException("Invalid report id: " + runId);
+        }
+        Path file = directory().resolve(runId + ".json");
+        if (!Files.isRegularFile(file)) return Optional.empty();
+        return Optional.of(objectMapper.readValue(file.toFile(), RunReportDto.class));
+    }
+
+    /**
+     * Compares {@code candidateId} (or, when null, the run in progress) against {@code baselineId}
+     * (or simulator.report.baseline).
+     */
+    public RunComparisonDto compare(String baselineId, String candidateId, Double thresholdPercent) throws IOException {
+        String baselineRun = baselineId != null && !baselineId.isBlank() ? baselineId : settings.getBaseline();
+        if (baselineRun == null || baselineRun.isBlank()) {
+            throw new IllegalArgumentException("No baseline given and simulator.report.baseline is not set");
+        }
+        RunReportDto baseline = readReport(baselineRun)
+                .orElseThrow(() -> new IllegalArgumentException("Unknown baseline report " + baselineRun));
+        RunReportDto candidate;
+        if (candidateId != null && !candidateId.isBlank()) {
+            candidate = readReport(candidateId)
+                    .orElseThrow(() -> new IllegalArgumentException("Unknown candidate report " + candidateId));
+        } else {
+            synchronized (this) {
+                if (current == null || !current.isStarted()) {
+                    throw new IllegalStateException("No run in progress to compare");
+                }
+                candidate = current.toReport(config, false);
+            }
+        }
+        double threshold = thresholdPercent != null ? thresholdPercent : settings.getRegressionThresholdPercent();
+        return RunReportComparator.compare(baseline, candidate, threshold);
+    }
+
+    synchronized void onInterval(long startEpochMs, long endEpochMs, long sent, long failed, Histogram latencyMicros) {
+        Run run = current;
+        if (run == null) return;
+        if (!run.isStarted() && sent + failed == 0) return; // not started until traffic flows
+        run.add(startEpochMs, endEpochMs, sent, failed, latencyMicros);
+    }
+
+    private RunReportDto write(Run run, boolean complete) throws IOException {
+        Path dir = directory();
+        Files.createDirectories(dir);
+        String runId = run.runId();
+        if (complete) {
+            run.closeBucket(); // the partial last bucket still belongs in the .hlog
+        }
+        run.flushLog();
+        RunReportDto report = run.toReport(config, complete);
+        report.setHistogramLog(runId + ".hlog");
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(dir.resolve(runId + ".json").toFile(), report);
+        logger.info("Wrote run report {} ({} buckets, {} readings) to {}", runId, report.getBuckets().size(), run.totalSent, dir);
+        return report;
+    }
+
+    private void compareWithBaseline(RunReportDto report) {
+        String baseline = settings.getBaseline();
+        if (baseline == null || baseline.isBlank()) return;
+        try {
+            Optional<RunReportDto> stored = readReport(baseline);
+            if (stored.isEmpty()) {
+                logger.warn("Baseline report {} not found in {}", baseline, directory());
+                return;
+            }
+            RunComparisonDto cmp = RunReportComparator.compare(stored.get(), report, settings.getRegressionThresholdPercent());
+            if (!cmp.isRegressed()) {
+                logger.info("Run {} is within {}% of baseline {}", report.getRunId(), cmp.getThresholdPercent(), baseline);
+                return;
+            }
+            for (RunComparisonDto.MetricDelta d : cmp.getMetrics()) {
+                if (d.isRegression()) {
+                    logger.warn("REGRESSION run {} vs baseline {}: {} {} -> {} ({}%)", report.getRunId(), baseline,
+                            d.getMetric(), d.getBaseline(), d.getCandidate(), String.format("%+.1f", d.getChangePercent()));
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Could not compare run {} with baseline {}: {}", report.getRunId(), baseline, e.getMessage());
+        }
+    }
+
+    private Path directory() {
+        String dir = settings.getDirectory();
+        return Paths.get(dir == null || dir.isBlank() ? "." : dir);
+    }
+
+    @Override
+    public void destroy() {
+        finishRun();
+    }
+
+    /**
+     * In-memory state of one run: the run-wide latency histogram, the bucket being filled and
+     * scalar summaries of closed buckets. Closed buckets go to the .hlog as they are; beyond
+     * maxBuckets the summaries are merged pairwise and later buckets are twice as wide.
+     */
+    private static final class Run {
+        final Path dir;
+        final String scenario;
+        final int maxBuckets;
+        long bucketMs;
+        long startedAtMs = -1;
+        long lastEndMs;
+        long totalSent;
+        long totalFailed;
+        final Histogram total = new Histogram(3);
+        final Histogram open = new Histogram(3);
+        long openStartMs = -1;
+        long openEndMs;
+        long openSent;
+        long openFailed;
+        List<Bucket> buckets = new ArrayList<>();
+        PrintStream logOut;
+        HistogramLogWriter log;
+        String id;
+
+        Run(Path dir, String scenario, long bucketMs, int maxBuckets) {
+            this.dir = dir;
+            this.scenario = scenario == null || scenario.isBlank() ? "default" : scenario.replaceAll("[^A-Za-z0-9._-]", "_");
+            this.bucketMs = bucketMs;
+            this.maxBuckets = maxBuckets;
+        }
+
+        boolean isStarted() {
+            return startedAtMs >= 0;
+        }
+
+        String runId() {
+            return id;
+        }
+
+        void add(long startMs, long endMs, long sent, long failed, Histogram latencyMicros) {
+            if (startedAtMs < 0) {
+                startedAtMs = startMs;
+                id = scenario + "-" + RUN_TIME.format(Instant.ofEpochMilli(startedAtMs));
+                openLog();
+            }
+            if (openStartMs >= 0 && startMs - openStartMs >= bucketMs) {
+                closeBucket();
+            }
+            if (openStartMs < 0) openStartMs = startMs;
+            openEndMs = endMs;
+            openSent += sent;
+            openFailed += failed;
+            open.add(latencyMicros);
+            total.add(latencyMicros);
+            totalSent += sent;
+            totalFailed += failed;
+            lastEndMs = endMs;
+        }
+
+        /** Appends the open bucket to the .hlog, keeps its summary and starts a new one. */
+        void closeBucket() {
+            if (openStartMs < 0) return;
+            if (log != null) {
+                log.outputIntervalHistogram((openStartMs - startedAtMs) / 1000.0, (openEndMs - startedAtMs) / 1000.0, open, 1000.0);
+            }
+            buckets.add(openSummary());
+            open.reset();
+            openStartMs = -1;
+            openSent = 0;
+            openFailed = 0;
+            if (buckets.size() > maxBuckets) {
+                coalesce();
+            }
+        }
+
+        private Bucket openSummary() {
+            Bucket b = new Bucket(openStartMs);
+            b.endMs = openEndMs;
+            b.sent = openSent;
+            b.failed = openFailed;
+            b.p50Ms = percentileMs(open, 50);
+            b.p99Ms = percentileMs(open, 99);
+            b.maxMs = open.getTotalCount() == 0 ? 0.0 : open.getMaxValue() / 1000.0;
+            return b;
+        }
+
+        private void openLog() {
+            try {
+                Files.createDirectories(dir);
+                logOut = new PrintStream(claimLog(), false, StandardCharsets.UTF_8);
+                log = new HistogramLogWriter(logOut);
+                log.outputComment("deviceSimulator run " + runId() + ", send latency in microseconds, max column in ms");
+                log.outputLogFormatVersion();
+                log.outputStartTime(startedAtMs);
+                log.setBaseTime(startedAtMs);
+                log.outputLegend();
+            } catch (IOException e) {
+                logger.error("Could not open histogram log for {}: {}", runId(), e.getMessage());
+                closeLog();
+            }
+        }
+
+        // run ids have one-second resolution: a run started in the same second gets a -2, -3... suffix
+        private OutputStream claimLog() throws IOException {
+            String base = id;
+            for (int n = 2; ; n++) {
+                if (!Files.exists(dir.resolve(id + ".json"))) {
+                    try {
+                        return Files.newOutputStream(dir.resolve(id + ".hlog"), StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+                    } catch (FileAlreadyExistsException e) {
+                        // taken by another run; try the next suffix
+                    }
+                }
+                id = base + "-" + n;
+            }
+        }
+
+        void flushLog() throws IOException {
+            if (logOut == null) return;
+            logOut.flush();
+            if (logOut.checkError()) {
+                throw new IOException("error writing " + runId() + ".hlog");
+            }
+        }
+
+        void closeLog() {
+            if (logOut != null) logOut.close();
+            logOut = null;
+            log = null;
+        }
+
+        // halves the summary resolution; the .hlog keeps every bucket
+        private void coalesce() {
+            List<Bucket> merged = new ArrayList<>((buckets.size() + 1) / 2);
+            for (int i = 0; i < buckets.size(); i += 2) {
+                Bucket a = buckets.get(i);
+                if (i + 1 < buckets.size()) {
+                    a.merge(buckets.get(i + 1));
+                }
+                merged.add(a);
+            }
+            buckets = merged;
+            bucketMs *= 2;
+        }
+
+        RunReportDto toReport(SimulatorConfig config, boolean complete) {
+            RunReportDto r = new RunReportDto();
+            r.setRunId(runId());
+            r.setScenario(scenario);
+            r.setStartedAtEpochMs(startedAtMs);
+            r.setEndedAtEpochMs(lastEndMs);
+            double seconds = Math.max(1e-3, (lastEndMs - startedAtMs) / 1000.0);
+            r.setDurationSeconds(seconds);
+            r.setComplete(complete);
+            r.setConfig(describe(config));
+            r.setTotalReadings(totalSent);
+            r.setTotalErrors(totalFailed);
+            long attempts = totalSent + totalFailed;
+            r.setErrorRate(attempts == 0 ? 0.0 : (double) totalFailed / attempts);
+            r.setMeanReadingsPerSec(totalSent / seconds);
+            r.setLatencyP50Ms(percentileMs(total, 50));
+            r.setLatencyP90Ms(percentileMs(total, 90));
+            r.setLatencyP99Ms(percentileMs(total, 99));
+            r.setLatencyP999Ms(percentileMs(total, 99.9));
+            r.setLatencyMaxMs(total.getTotalCount() == 0 ? 0.0 : total.getMaxValue() / 1000.0);
+            r.setBucketSeconds((int) (bucketMs / 1000));
+
+            List<Bucket> all = new ArrayList<>(buckets);
+            if (openStartMs >= 0) all.add(openSummary());
+            double peak = 0;
+            for (Bucket b : all) {
+                double bs = Math.max(1e-3, (b.endMs - b.startMs) / 1000.0);
+                RunReportDto.Bucket dto = new RunReportDto.Bucket();
+                dto.setStartEpochMs(b.startMs);
+                dto.setSeconds(bs);
+                dto.setReadingsPerSec(b.sent / bs);
+                dto.setErrorsPerSec(b.failed / bs);
+                dto.setLatencyP50Ms(b.p50Ms);
+                dto.setLatencyP99Ms(b.p99Ms);
+                dto.setLatencyMaxMs(b.maxMs);
+                r.getBuckets().add(dto);
+                peak = Math.max(peak, dto.getReadingsPerSec());
+            }
+            r.setPeakReadingsPerSec(peak);
+            return r;
+        }
+    }
+
+    /** Scalar summary of a closed bucket; its full histogram is only in the .hlog. */
+    private static final class Bucket {
+        final long startMs;
+        long endMs;
+        long sent;
+        long failed;
+        double p50Ms;
+        double p99Ms;
+        double maxMs;
+
+        Bucket(long startMs) {
+            this.startMs = startMs;
+        }
+
+        // percentiles cannot be merged exactly from summaries; keep the higher (worse) of the two
+        void merge(Bucket next) {
+            endMs = next.endMs;
+            sent += next.sent;
+            failed += next.failed;
+            p50Ms = Math.max(p50Ms, next.p50Ms);
+            p99Ms = Math.max(p99Ms, next.p99Ms);
+            maxMs = Math.max(maxMs, next.maxMs);
+        }
+    }
+
+    private static Map<String, Object> describe(SimulatorConfig config) {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("deviceCount", config.getDeviceCount());
+        m.put("transport", String.valueOf(config.getTransport()));
+        m.put("executionMode", String.valueOf(config.getExecutionMode()));
+        m.put("startupMode", String.valueOf(config.getStartupMode()));
+        m.put("dataPushIntervalMs", config.getDataPushInterval());
+        m.put("maxConcurrentSends", config.getMaxConcurrentSends());
+        m.put("sendParallelism", config.getSendParallelism());
+        m.put("targetUrl", config.getTargetUrl());
+        List<Map<String, Object>> profiles = new ArrayList<>();
+        for (SimulatorConfig.Profile p : config.getProfiles()) {
+            Map<String, Object> pm = new LinkedHashMap<>();
+            pm.put("name", p.getName());
+            pm.put("weight", p.getWeight());
+            pm.put("sensorTypes", p.getSensorTypes());
+            pm.put("reportIntervalMs", p.getReportIntervalMs());
+            pm.put("payloadBytes", p.getPayloadBytes());
+            pm.put("grouped", p.isGrouped());
+            profiles.add(pm);
+        }
+        m.put("profiles", profiles);
+        List<Map<String, Object>> impairments = new ArrayList<>();
+        for (SimulatorConfig.Impairment i : config.getImpairments()) {
+            Map<String, Object> im = new LinkedHashMap<>();
+            im.put("name", i.getName());
+            im.put("profiles", i.getProfiles());
+            im.put("deviceFraction", i.getDeviceFraction());
+            im.put("delay", i.getDelayDistribution() + " " + i.getDelayMs() + "ms +/-" + i.getDelayJitterMs() + "ms");
+            im.put("dropProbability", i.getDropProbability());
+            im.put("duplicateProbability", i.getDuplicateProbability());
+            im.put("reorderWindowMs", i.getReorderWindowMs());
+            im.put("clockSkewMs", i.getClockSkewMs());
+            im.put("clockDriftPpm", i.getClockDriftPpm());
+            impairments.add(im);
+        }
+        m.put("impairments", impairments);
+        m.put("javaVersion", Runtime.version().toString());
+        m.put("availableProcessors", Runtime.getRuntime().availableProcessors());
+        return m;
+    }
+
+    private static double percentileMs(Histogram h, double percentile) {
+        return h.getTotalCount() == 0 ? 0.0 : h.getValueAtPercentile(percentile) / 1000.0;
+    }
+}
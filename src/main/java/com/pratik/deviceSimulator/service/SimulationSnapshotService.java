@@ -0,0 +1,197 @@
+package com.pratik.deviceSimulator.service;
+
+import com.pratik.deviceSimulator.model.FleetSnapshot;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Reads and writes {@link FleetSnapshot}s as a compact columnar binary file.
+ *
+ * Layout (little-endian):
+ * <pre>
+ * int magic, int version, byte simulationEnabled, long rngState, long capturedAtEpochMs,
+ * int deviceCount, int sensorSetCount, { int byteLength, utf8 "TYPE,TYPE,..." } * sensorSetCount,
+ * int profileCount, { int byteLength, utf8 name } * profileCount (version 3+), padding to 8 bytes,
+ * long[deviceCount] ids, long[deviceCount] registeredIds, int[deviceCount] sensorSetIndexes,
+ * byte[deviceCount] connected, padding to 8 bytes, long[deviceCount] sequences (version 2+),
+ * int[deviceCount] profileIndexes (version 3+)
+ * </pre>
+ * Both directions go through a memory-mapped buffer and bulk column copies, so even a
+ * million-device fleet is a handful of sequential memory copies.
+ */
+@Service
+public class SimulationSnapshotService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SimulationSnapshotService.class);
+
+    static final int MAGIC = 0x534D4C53; // "SMLS"
+    static final int VERSION = 3;
+
+    public void write(FleetSnapshot snapshot, Path path) throws IOException {
+        long start = System.nanoTime();
+        int n = snapshot.getDeviceCount();
+
+        List<byte[]> encodedSets = new ArrayList<>(snapshot.getSensorSets().size());
+        for (List<String> set : snapshot.getSensorSets()) {
+            encodedSets.add(String.join(",", set).getBytes(StandardCharsets.UTF_8));
+        }
+
+        List<byte[]> encodedProfiles = new ArrayList<>(snapshot.getProfileNames().size());
+        for (String name : snapshot.getProfileNames()) {
+            encodedProfiles.add(name.getBytes(StandardCharsets.UTF_8));
+        }
+
+        long headerSize = 4 + 4 + 1 + 8 + 8 + 4 + 4 + 4;
+        for (byte[] set : encodedSets) {
+            headerSize += 4 + set.length;
+        }
+        for (byte[] name : encodedProfiles) {
+            headerSize += 4 + name.length;
+        }
+        long columnsOffset = align8(headerSize);
+        long sequencesOffset = align8(columnsOffset + (long) n * (8 + 8 + 4 + 1));
+        long size = sequencesOffset + (long) n * (8 + 4);
+
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            MappedByteBuffer buf = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            buf.order(ByteOrder.LITTLE_ENDIAN);
+
+            buf.putInt(MAGIC);
+            buf.putInt(VERSION);
+            buf.put((byte) (snapshot.isSimulationEnabled() ? 1 : 0));
+            buf.putLong(snapshot.getRngState());
+            buf.putLong(snapshot.getCapturedAtEpochMs());
+            buf.putInt(n);
+            buf.putInt(encodedSets.size());
+            for (byte[] set : encodedSets) {
+                buf.putInt(set.length);
+                buf.put(set);
+            }
+            buf.putInt(encodedProfiles.size());
+            for (byte[] name : encodedProfiles) {
+                buf.putInt(name.length);
+                buf.put(name);
+            }
+
+            buf.position((int) columnsOffset);
+            buf.asLongBuffer().put(snapshot.getIds());
+            buf.position(buf.position() + n * 8);
+            buf.asLongBuffer().put(snapshot.getRegisteredIds());
+            buf.position(buf.position() + n * 8);
+            buf.asIntBuffer().put(snapshot.getSensorSetIndexes());
+            buf.position(buf.position() + n * 4);
+            boolean[] connected = snapshot.getConnected();
+            byte[] connectedBytes = new byte[n];
+            for (int i = 0; i < n; i++) {
+                connectedBytes[i] = (byte) (connected[i] ? 1 : 0);
+            }
+            buf.put(connectedBytes);
+            buf.position((int) sequencesOffset);
+            buf.asLongBuffer().put(snapshot.getSequences());
+            buf.position(buf.position() + n * 8);
+            buf.asIntBuffer().put(snapshot.getProfileIndexes());
+            buf.force();
+        }
+        Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        logger.info("Wrote snapshot of {} devices to {} ({} bytes) in {} ms",
+                n, path, size, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    public FleetSnapshot read(Path path) throws IOException {
+        long start = System.nanoTime();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buf = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            buf.order(ByteOrder.LITTLE_ENDIAN);
+
+            int magic = buf.getInt();
+            if (magic != MAGIC) {
+                throw new IOException("Not a simulator snapshot: " + path);
+            }
+            int version = buf.getInt();
+            if (version < 1 || version > VERSION) {
+                throw new IOException("Unsupported snapshot version " + version + " in " + path);
+            }
+            boolean simulationEnabled = buf.get() != 0;
+            long rngState = buf.getLong();
+            long capturedAt = buf.getLong();
+            int n = buf.getInt();
+            int setCount = buf.getInt();
+
+            List<List<String>> sensorSets = new ArrayList<>(setCount);
+            for (int i = 0; i < setCount; i++) {
+                byte[] raw = new byte[buf.getInt()];
+                buf.get(raw);
+                String joined = new String(raw, StandardCharsets.UTF_8);
+                sensorSets.add(joined.isEmpty() ? List.of() : List.copyOf(Arrays.asList(joined.split(","))));
+            }
+            List<String> profileNames = new ArrayList<>();
+            if (version >= 3) {
+                int profileCount = buf.getInt();
+                for (int i = 0; i < profileCount; i++) {
+                    byte[] raw = new byte[buf.getInt()];
+                    buf.get(raw);
+                    profileNames.add(new String(raw, StandardCharsets.UTF_8));
+                }
+            }
+
+            buf.position((int) align8(buf.position()));
+            long[] ids = new long[n];
+            buf.asLongBuffer().get(ids);
+            buf.position(buf.position() + n * 8);
+            long[] registeredIds = new long[n];
+            buf.asLongBuffer().get(registeredIds);
+            buf.position(buf.position() + n * 8);
+            int[] setIndexes = new int[n];
+            buf.asIntBuffer().get(setIndexes);
+            buf.position(buf.position() + n * 4);
+            byte[] connectedBytes = new byte[n];
+            buf.get(connectedBytes);
+            boolean[] connected = new boolean[n];
+            for (int i = 0; i < n; i++) {
+                connected[i] = connectedBytes[i] != 0;
+            }
+            long[] sequences = new long[n];
+            if (version >= 2) {
+                buf.position((int) align8(buf.position()));
+                buf.asLongBuffer().get(sequences);
+            }
+            int[] profileIndexes = new int[n];
+            if (version >= 3) {
+                buf.position(buf.position() + n * 8);
+                buf.asIntBuffer().get(profileIndexes);
+            } else {
+                Arrays.fill(profileIndexes, FleetSnapshot.NO_PROFILE);
+            }
+
+            logger.info("Read snapshot of {} devices from {} in {} ms", n, path, (System.nanoTime() - start) / 1_000_000);
+            return new FleetSnapshot(capturedAt, simulationEnabled, rngState, sensorSets, ids, registeredIds, setIndexes,
+                    connected, sequences, profileNames, profileIndexes);
+        }
+    }
+
+    private static long align8(long offset) {
+        return (offset + 7) & ~7L;
+    }
+}
@@ -0,0 +1,184 @@
+package com.pratik.deviceSimulator.service;
+
+import com.pratik.deviceSimulator.dto.TelemetrySnapshotDto;
+import jakarta.annotation.PostConstruct;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Incremental per-second throughput aggregates for the live-telemetry stream.
+ *
+ * The send path only touches striped {@link LongAdder}s and a wait-free HdrHistogram
+ * {@link Recorder}; once a second {@link #roll()} drains them into a
+ * {@link TelemetrySnapshotDto} and hands it to the registered listeners.
+ * Nothing is recomputed from the device list.
+ *
+ * The roll runs on its own thread rather than the shared Spring scheduler, where a
+ * blocking pushSensorData tick or a hung health probe would stall the 1 s resolution.
+ */
+@Component
+public class SimulatorTelemetry implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(SimulatorTelemetry.class);
+
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final Map<String, LongAdder> sentBySensorType = new ConcurrentHashMap<>();
+    private final Recorder latencyMicros = new Recorder(3);
+    private final AtomicInteger connectedDevices = new AtomicInteger();
+    private final List<Consumer<TelemetrySnapshotDto>> listeners = new CopyOnWriteArrayList<>();
+    private final List<IntervalListener> intervalListeners = new CopyOnWriteArrayList<>();
+
+    private ScheduledExecutorService roller;
+    private Histogram intervalHistogram;
+    private long lastRollNanos = System.nanoTime();
+    private long lastRollEpochMs = System.currentTimeMillis();
+
+    /**
+     * Receives each interval's raw counts and latency histogram (microseconds). The histogram
+     * is reused for the next interval, so listeners must copy or consume it before returning.
+     */
+    public interface IntervalListener {
+        void onInterval(long startEpochMs, long endEpochMs, long sent, long failed, Histogram latencyMicros);
+    }
+    private volatile TelemetrySnapshotDto latest = new TelemetrySnapshotDto();
+
+    public void recordSent(String sensorType, long latencyNanos) {
+        sent.increment();
+        sentBySensorType.computeIfAbsent(sensorType, t -> new LongAdder()).increment();
+        latencyMicros.recordValue(Math.max(0, latencyNanos / 1_000));
+    }
+
+    /** One grouped message: counts every reading in it, but a single latency sample. */
+    public void recordSent(List<String> sensorTypes, long latencyNanos) {
+        sent.add(sensorTypes.size());
+        for (String type : sensorTypes) {
+            sentBySensorType.computeIfAbsent(type, t -> new LongAdder()).increment();
+        }
+        latencyMicros.recordValue(Math.max(0, latencyNanos / 1_000));
+    }
+
+    public void recordFailed(long latencyNanos) {
+        failed.increment();
+        latencyMicros.recordValue(Math.max(0, latencyNanos / 1_000));
+    }
+
+    /** Called on each connect/disconnect transition with +1 / -1. */
+    public void adjustConnectedDevices(int delta) {
+        connectedDevices.addAndGet(delta);
+    }
+
+    /** Resets the connected gauge after bulk changes such as init or snapshot restore. */
+    public void setConnectedDevices(int count) {
+        connectedDevices.set(count);
+    }
+
+    public void addListener(Consumer<TelemetrySnapshotDto> listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Consumer<TelemetrySnapshotDto> listener) {
+        listeners.remove(listener);
+    }
+
+    public void addIntervalListener(IntervalListener listener) {
+        intervalListeners.add(listener);
+    }
+
+    public TelemetrySnapshotDto getLatest() {
+        return latest;
+    }
+
+    @PostConstruct
+    public void start() {
+        roller = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "sim-telemetry");
+            t.setDaemon(true);
+            return t;
+        });
+        roller.scheduleAtFixedRate(this::rollSafely, 1, 1, TimeUnit.SECONDS);
+    }
+
+    private void rollSafely() {
+        try {
+            roll();
+        } catch (RuntimeException e) {
+            // an exception would cancel the periodic task
+            logger.warn("Telemetry roll failed: {}", e.getMessage());
+        }
+    }
+
+    public void roll() {
+        roll(System.nanoTime(), System.currentTimeMillis());
+    }
+
+    synchronized void roll(long now, long endEpochMs) {
+        double seconds = Math.max(1e-3, (now - lastRollNanos) / 1e9);
+        lastRollNanos = now;
+        long startEpochMs = lastRollEpochMs;
+        lastRollEpochMs = endEpochMs;
+
+        long sentCount = sent.sumThenReset();
+        long failedCount = failed.sumThenReset();
+        intervalHistogram = latencyMicros.getIntervalHistogram(intervalHistogram);
+
+        Map<String, Double> typeRates = new TreeMap<>();
+        sentBySensorType.forEach((type, adder) -> typeRates.put(type, adder.sumThenReset() / seconds));
+
+        TelemetrySnapshotDto snapshot = new TelemetrySnapshotDto();
+        snapshot.setEpochMs(endEpochMs);
+        snapshot.setReadingsPerSec(sentCount / seconds);
+        snapshot.setErrorsPerSec(failedCount / seconds);
+        long attempts = sentCount + failedCount;
+        snapshot.setErrorRate(attempts == 0 ? 0.0 : (double) failedCount / attempts);
+        snapshot.setLatencyP50Ms(percentileMs(intervalHistogram, 50));
+        snapshot.setLatencyP90Ms(percentileMs(intervalHistogram, 90));
+        snapshot.setLatencyP99Ms(percentileMs(intervalHistogram, 99));
+        snapshot.setLatencyMaxMs(intervalHistogram.getTotalCount() == 0 ? 0.0 : intervalHistogram.getMaxValue() / 1000.0);
+        snapshot.setConnectedDevices(connectedDevices.get());
+        snapshot.setSensorTypeRates(typeRates);
+        latest = snapshot;
+
+        for (IntervalListener listener : intervalListeners) {
+            try {
+                listener.onInterval(startEpochMs, endEpochMs, sentCount, failedCount, intervalHistogram);
+            } catch (RuntimeException e) {
+                logger.warn("Telemetry interval listener failed: {}", e.getMessage());
+            }
+        }
+        for (Consumer<TelemetrySnapshotDto> listener : listeners) {
+            try {
+                listener.accept(snapshot);
+            } catch (RuntimeException e) {
+                logger.debug("Telemetry listener failed: {}", e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (roller != null) {
+            roller.shutdownNow();
+        }
+    }
+
+    private static double percentileMs(Histogram h, double percentile) {
+        return h.getTotalCount() == 0 ? 0.0 : h.getValueAtPercentile(percentile) / 1000.0;
+    }
+}
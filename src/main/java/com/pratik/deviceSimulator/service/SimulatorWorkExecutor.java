@@ -0,0 +1,185 @@
+package com.pratik.deviceSimulator.service;
+
+import com.pratik.deviceSimulator.config.SimulatorConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Runs per-device work (sends, registration, admin bulk jobs) either on virtual threads
+ * (simulator.execution-mode=VIRTUAL, Java 21+) or on a bounded platform-thread pool.
+ *
+ * Virtual mode is thread-per-device: each item gets its own virtual thread, so plain
+ * blocking code (RestTemplate, Thread.sleep) scales, and a semaphore caps how many run
+ * at once. Platform mode runs a fixed number of workers on a shared pool, each pulling the
+ * next item from a common cursor. Either way {@link #forEach} is scoped: it returns only
+ * after every task it started has finished.
+ */
+@Component
+public class SimulatorWorkExecutor implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(SimulatorWorkExecutor.class);
+
+    private final boolean virtual;
+    private final int parallelism;
+    private final TaskExecutor executor;
+    // background jobs get their own threads so a job that calls forEach never waits on its own pool
+    private final SimpleAsyncTaskExecutor jobExecutor;
+
+    public SimulatorWorkExecutor(SimulatorConfig config) {
+        boolean wantVirtual = config.getExecutionMode() == SimulatorConfig.ExecutionMode.VIRTUAL;
+        if (wantVirtual && Runtime.version().feature() < 21) {
+            logger.warn("simulator.execution-mode=VIRTUAL needs Java 21+, running on {}; falling back to platform threads",
+                    Runtime.version().feature());
+            wantVirtual = false;
+        }
+        this.virtual = wantVirtual;
+        this.parallelism = Math.max(1, config.getSendParallelism());
+
+        if (virtual) {
+            SimpleAsyncTaskExecutor vt = new SimpleAsyncTaskExecutor("sim-vt-");
+            vt.setVirtualThreads(true);
+            this.executor = vt;
+            this.jobExecutor = vt;
+        } else {
+            ThreadPoolTaskExecutor pool = new ThreadPoolTaskExecutor();
+            pool.setThreadNamePrefix("sim-worker-");
+            pool.setCorePoolSize(parallelism);
+            pool.setMaxPoolSize(parallelism);
+            pool.setDaemon(true);
+            pool.initialize();
+            this.executor = pool;
+            this.jobExecutor = new SimpleAsyncTaskExecutor("sim-job-");
+            this.jobExecutor.setDaemon(true);
+        }
+        logger.info("Simulator work executor: {} threads (parallelism {})", virtual ? "virtual" : "platform", parallelism);
+    }
+
+    public boolean isVirtual() {
+        return virtual;
+    }
+
+    /** Fire-and-forget background job (e.g. background registration, admin bulk operations). */
+    public void submit(Runnable job) {
+        jobExecutor.execute(() -> {
+            try {
+                job.run();
+            } catch (RuntimeException e) {
+                logger.error("Background job failed", e);
+            }
+        });
+    }
+
+    /** Runs one device-level task (e.g. a delayed send) on the device executor. */
+    public void execute(Runnable task) {
+        executor.execute(() -> runSafely(Runnable::run, task));
+    }
+
+    /**
+     * Applies {@code action} to every item with at most {@code maxConcurrency} running at once,
+     * and waits for all of them. A failing item is logged and does not cancel its siblings.
+     * If the caller is interrupted, no further items are started; the ones already running
+     * are awaited before the interrupt is rethrown.
+     */
+    public <T> void forEach(List<T> items, int maxConcurrency, Consumer<T> action) throws InterruptedException {
+        if (items.isEmpty()) return;
+        if (virtual) {
+            forEachVirtual(items, Math.max(1, maxConcurrency), action);
+        } else {
+            forEachChunked(items, Math.max(1, Math.min(maxConcurrency, parallelism)), action);
+        }
+    }
+
+    private <T> void forEachVirtual(List<T> items, int maxConcurrency, Consumer<T> action) throws InterruptedException {
+        Semaphore permits = new Semaphore(maxConcurrency);
+        CountDownLatch done = new CountDownLatch(items.size());
+        try {
+            for (T item : items) {
+                permits.acquire();
+                executor.execute(() -> {
+                    try {
+                        runSafely(action, item);
+                    } finally {
+                        permits.release();
+                        done.countDown();
+                    }
+                });
+            }
+        } catch (InterruptedException ie) {
+            awaitStarted(permits, maxConcurrency);
+            throw ie;
+        }
+        done.await();
+    }
+
+    private <T> void forEachChunked(List<T> items, int workers, Consumer<T> action) throws InterruptedException {
+        // exactly `workers` runners share one cursor, so at most that many items run at once
+        // however many other forEach calls share the pool
+        int runners = Math.min(items.size(), workers);
+        AtomicInteger next = new AtomicInteger();
+        AtomicBoolean stopped = new AtomicBoolean();
+        CountDownLatch done = new CountDownLatch(runners);
+        for (int r = 0; r < runners; r++) {
+            executor.execute(() -> {
+                try {
+                    int i;
+                    while (!stopped.get() && (i = next.getAndIncrement()) < items.size()) {
+                        runSafely(action, items.get(i));
+                    }
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        try {
+            done.await();
+        } catch (InterruptedException ie) {
+            stopped.set(true);
+            awaitUninterruptibly(done);
+            throw ie;
+        }
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        while (true) {
+            try {
+                latch.await();
+                return;
+            } catch (InterruptedException again) {
+                // the caller rethrows the first interrupt once the runners are done
+            }
+        }
+    }
+
+    private static void awaitStarted(Semaphore permits, int maxConcurrency) {
+        // every running task holds one permit; getting them all back means they are all done
+        permits.acquireUninterruptibly(maxConcurrency);
+    }
+
+    private static <T> void runSafely(Consumer<T> action, T item) {
+        try {
+            action.accept(item);
+        } catch (RuntimeException e) {
+            logger.debug("Device task failed: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (executor instanceof ThreadPoolTaskExecutor pool) {
+            pool.shutdown();
+        }
+        jobExecutor.close();
+    }
+}
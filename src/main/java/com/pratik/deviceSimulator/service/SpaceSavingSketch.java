@@ -0,0 +1,145 @@
+package com.pratik.deviceSimulator.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Space-Saving heavy-hitters sketch over integer keys (device slots).
+ *
+ * Tracks at most {@code capacity} keys in a min-heap ordered by weight; an untracked key
+ * evicts the current minimum and inherits its weight as over-estimation error. Any key
+ * whose true weight exceeds total/capacity is guaranteed to be present. Key lookup uses a
+ * slot-indexed position array, so every update is O(log capacity) with no allocation.
+ */
+class SpaceSavingSketch {
+
+    private final int capacity;
+    private final int[] keys;
+    private final long[] counts;
+    private final long[] errors;
+    private int size;
+    private int[] positionByKey;
+
+    SpaceSavingSketch(int capacity, int keySpace) {
+        this.capacity = Math.max(1, capacity);
+        this.keys = new int[this.capacity];
+        this.counts = new long[this.capacity];
+        this.errors = new long[this.capacity];
+        this.positionByKey = new int[Math.max(0, keySpace)];
+        Arrays.fill(positionByKey, -1);
+    }
+
+    synchronized void ensureKeySpace(int keySpace) {
+        if (keySpace > positionByKey.length) {
+            int old = positionByKey.length;
+            positionByKey = Arrays.copyOf(positionByKey, keySpace);
+            Arrays.fill(positionByKey, old, keySpace, -1);
+        }
+    }
+
+    synchronized void offer(int key, long weight) {
+        if (key < 0 || key >= positionByKey.length || weight <= 0) {
+            return;
+        }
+        int pos = positionByKey[key];
+        if (pos >= 0) {
+            counts[pos] += weight;
+            siftDown(pos);
+        } else if (size < capacity) {
+            pos = size++;
+            keys[pos] = key;
+            counts[pos] = weight;
+            errors[pos] = 0;
+            positionByKey[key] = pos;
+            siftUp(pos);
+        } else {
+            // replace the minimum; its count becomes the newcomer's error bound
+            positionByKey[keys[0]] = -1;
+            long min = counts[0];
+            keys[0] = key;
+            counts[0] = min + weight;
+            errors[0] = min;
+            positionByKey[key] = 0;
+            siftDown(0);
+        }
+    }
+
+    /** Up to {@code k} tracked keys, heaviest first. */
+    synchronized List<Entry> top(int k) {
+        List<Entry> entries = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            entries.add(new Entry(keys[i], counts[i], errors[i]));
+        }
+        entries.sort(Comparator.comparingLong(Entry::getCount).reversed());
+        return entries.size() > k ? new ArrayList<>(entries.subList(0, Math.max(0, k))) : entries;
+    }
+
+    synchronized void clear() {
+        for (int i = 0; i < size; i++) {
+            positionByKey[keys[i]] = -1;
+        }
+        size = 0;
+    }
+
+    private void siftUp(int pos) {
+        while (pos > 0) {
+            int parent = (pos - 1) >>> 1;
+            if (counts[parent] <= counts[pos]) break;
+            swap(pos, parent);
+            pos = parent;
+        }
+    }
+
+    private void siftDown(int pos) {
+        while (true) {
+            int left = 2 * pos + 1;
+            if (left >= size) break;
+            int smallest = left;
+            int right = left + 1;
+            if (right < size && counts[right] < counts[left]) smallest = right;
+            if (counts[pos] <= counts[smallest]) break;
+            swap(pos, smallest);
+            pos = smallest;
+        }
+    }
+
+    private void swap(int a, int b) {
+        int key = keys[a];
+        keys[a] = keys[b];
+        keys[b] = key;
+        long count = counts[a];
+        counts[a] = counts[b];
+        counts[b] = count;
+        long error = errors[a];
+        errors[a] = errors[b];
+        errors[b] = error;
+        positionByKey[keys[a]] = a;
+        positionByKey[keys[b]] = b;
+    }
+
+    static final class Entry {
+        private final int key;
+        private final long count;
+        private final long error;
+
+        Entry(int key, long count, long error) {
+            this.key = key;
+            this.count = count;
+            this.error = error;
+        }
+
+        int getKey() {
+            return key;
+        }
+
+        long getCount() {
+            return count;
+        }
+
+        long getError() {
+            return error;
+        }
+    }
+}
@@ -1,9 +1,11 @@
 package com.pratik.deviceSimulator.service;
 
+import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.pratik.deviceSimulator.config.SimulatorConfig;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.slf4j.event.Level;
 import org.springframework.messaging.converter.MappingJackson2MessageConverter;
 import org.springframework.messaging.simp.stomp.StompSession;
 import org.springframework.messaging.simp.stomp.StompSessionHandler;
@@ -30,38 +32,66 @@ import org.springframework.web.client.RestTemplate;
 import java.lang.reflect.Type;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
 
 @Service
 public class WebSocketClientService {
     private static final Logger log = LoggerFactory.getLogger(WebSocketClientService.class);
+    /** Where {@link #sendSensorData} publishes (STOMP transport and the mirror). */
+    public static final String SENSOR_DATA_TOPIC = "/topic/sensorData";
 
     private final SimulatorConfig config; // holds websocket URL like ws://iotanalyser:8080/ws-sensor-data
+    private final LogSampler logSampler;
     private WebSocketStompClient stompClient;
-    private StompSession stompSession;
+    private volatile StompSession stompSession;
+    // a lock rather than synchronized so waiting virtual threads do not pin their carrier
+    private final ReentrantLock lock = new ReentrantLock();
 
-    public WebSocketClientService(SimulatorConfig config) {
+    public WebSocketClientService(SimulatorConfig config, ObjectMapper objectMapper, LogSampler logSampler) {
         this.config = config;
-        initClient();
+        this.logSampler = logSampler;
+        initClient(objectMapper);
     }
 
-    private void initClient() {
+    private void initClient(ObjectMapper objectMapper) {
         List<Transport> transports = List.of(new WebSocketTransport(new StandardWebSocketClient()));
         SockJsClient sockJsClient = new SockJsClient(transports);
         this.stompClient = new WebSocketStompClient(sockJsClient);
-        this.stompClient.setMessageConverter(new org.springframework.messaging.converter.MappingJackson2MessageConverter());
+        this.stompClient.setMessageConverter(messageConverter(objectMapper));
     }
-    public synchronized boolean connectWithRetries(int maxAttempts, long baseDelayMs) {
+
+    /**
+     * JSON converter on the application mapper (JavaTimeModule for the LocalDateTime
+     * timestamps). Unknown properties are ignored on decode: analyser broadcasts may carry
+     * fields the simulator's DTOs do not have.
+     */
+    static MappingJackson2MessageConverter messageConverter(ObjectMapper objectMapper) {
+        MappingJackson2MessageConverter converter = new MappingJackson2MessageConverter();
+        converter.setObjectMapper(objectMapper.copy().disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES));
+        return converter;
+    }
+    public boolean connectWithRetries(int maxAttempts, long baseDelayMs) {
+        lock.lock();
+        try {
+            return doConnectWithRetries(maxAttempts, baseDelayMs);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean doConnectWithRetries(int maxAttempts, long baseDelayMs) {
         int attempt = 0;
         String url = config.getWebsocketUrl();
-        log.info("WebSocket connect attempt {}/{} to {}", attempt, maxAttempts, url);
+        // reached once per mirrored reading while the analyser is away; counted, not logged each time
         if (url == null) {
-            log.warn("Websocket URL is null - check config and env");
+            logSampler.count(log, Level.WARN, "WebSocket connects skipped", "simulator.websocket.url is not set");
             return false;
         }
 
         while (attempt++ < maxAttempts) {
             try {
-                log.info("WebSocket connect attempt {}/{} -> {}", attempt, maxAttempts, url);
+                log.debug("WebSocket connect attempt {}/{} -> {}", attempt, maxAttempts, url);
 
                 StompSessionHandler handler = new StompSessionHandlerAdapter() {
                     @Override
@@ -87,30 +117,81 @@ public class WebSocketClientService {
                     return true;
                 }
             } catch (Exception ex) {
-                log.warn("WebSocket connect failed: {}", ex.getMessage());
+                logSampler.countFailure(log, Level.WARN, "WebSocket connect attempts failed", ex);
             }
             try { Thread.sleep(baseDelayMs * attempt); } catch (InterruptedException ignored) {}
         }
-        log.error("Unable to connect websocket after {} attempts", maxAttempts);
+        logSampler.count(log, Level.ERROR, "WebSocket connects gave up", "after " + maxAttempts + " attempts to " + url);
         return false;
     }
 
-    public synchronized void disconnect() {
+    public void disconnect() {
+        lock.lock();
         try {
             if (stompSession != null && stompSession.isConnected()) {
                 stompSession.disconnect();
             }
-        } catch (Exception ignored) {}
-        stompSession = null;
+        } catch (Exception ignored) {
+        } finally {
+            stompSession = null;
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Subscribes to {@code destination} on the shared session, connecting first if needed.
+     * The subscription does not survive a reconnect.
+     * @return null when no session could be established
+     */
+    public <T> StompSession.Subscription subscribe(String destination, Class<T> payloadType, Consumer<T> handler) {
+        lock.lock();
+        try {
+            if ((stompSession == null || !stompSession.isConnected()) && !doConnectWithRetries(3, 500)) {
+                return null;
+            }
+            return stompSession.subscribe(destination, new StompFrameHandler() {
+                @Override
+                public Type getPayloadType(StompHeaders headers) {
+                    return payloadType;
+                }
+
+                @Override
+                public void handleFrame(StompHeaders headers, Object payload) {
+                    handler.accept(payloadType.cast(payload));
+                }
+            });
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized void sendSensorData(Object dto) {
-        if (stompSession == null || !stompSession.isConnected()) {
-            log.warn("WebSocket not connected. Cannot send message.");
-            // optionally attempt quick reconnect:
-            boolean ok = connectWithRetries(3, 500);
-            if (!ok) return;
+    /** @return false when there was no connected session to send on */
+    public boolean sendSensorData(Object dto) {
+        StompSession session = stompSession;
+        if (session == null || !session.isConnected()) {
+            // only one caller reconnects; concurrent senders drop their best-effort broadcast meanwhile
+            if (!lock.tryLock()) return false;
+            try {
+                session = stompSession;
+                if (session == null || !session.isConnected()) {
+                    logSampler.count(log, Level.WARN, "WebSocket sends found no session", "reconnecting");
+                    // optionally attempt quick reconnect:
+                    boolean ok = doConnectWithRetries(3, 500);
+                    if (!ok) return false;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        lock.lock();
+        try {
+            // the underlying WebSocket session does not allow concurrent sends
+            StompSession current = stompSession;
+            if (current == null) return false;
+            current.send(SENSOR_DATA_TOPIC, dto);
+            return true;
+        } finally {
+            lock.unlock();
         }
-        stompSession.send("/topic/sensorData", dto);
     }
 }
@@ -0,0 +1,210 @@
+package com.pratik.deviceSimulator.transport;
+
+import com.pratik.deviceSimulator.config.SimulatorConfig;
+import com.pratik.deviceSimulator.dto.DeviceReadingsDto;
+import com.pratik.deviceSimulator.dto.SensorRegistrationDto;
+import com.pratik.deviceSimulator.model.SimulatedDevice;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Decorates a {@link SensorTransport} with the network and clock faults real gateways show:
+ * added delay from a configurable distribution, drops, duplicates, reordering and
+ * per-device timestamp skew/drift. Rules come from simulator.impairments; devices no rule
+ * matches go straight to the delegate.
+ *
+ * Delays are scheduled on a {@link TimerWheel}, so nothing sleeps. A dropped message
+ * completes successfully, because from the device's side it was sent; loss then shows up
+ * in delivery verification. Randomness comes from ThreadLocalRandom so impairments do not
+ * shift the simulator's own seeded value sequence. Clock skew only touches
+ * {@code timestamp}; {@code sentAtEpochNanos} stays the simulator's true send time.
+ * {@code timestamp} is serialized to whole seconds, so skew and drift below one second
+ * only show when they carry the value across a second boundary.
+ *
+ * The first (non-duplicate) copy re-stamps {@code dispatchedAtNanos} when it reaches the
+ * delegate, so the simulator's send latency covers the transport, not the injected delay.
+ */
+public class ImpairedSensorTransport implements SensorTransport {
+
+    // Pareto and friends have unbounded tails; no single message waits longer than this
+    static final long MAX_DELAY_NANOS = TimeUnit.SECONDS.toNanos(60);
+
+    private final SensorTransport delegate;
+    private final List<Rule> rules;
+    private final TimerWheel wheel;
+    private final long startNanos = System.nanoTime();
+    private final Counter delayed;
+    private final Counter dropped;
+    private final Counter duplicated;
+
+    public ImpairedSensorTransport(SensorTransport delegate, List<SimulatorConfig.Impairment> impairments,
+                                   TimerWheel wheel, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.wheel = wheel;
+        this.rules = new ArrayList<>(impairments.size());
+        for (int i = 0; i < impairments.size(); i++) {
+            rules.add(new Rule(i, impairments.get(i)));
+        }
+        this.delayed = meterRegistry.counter("simulator.impairment.delayed");
+        this.dropped = meterRegistry.counter("simulator.impairment.dropped");
+        this.duplicated = meterRegistry.counter("simulator.impairment.duplicated");
+    }
+
+    @Override
+    public String name() {
+        return delegate.name();
+    }
+
+    @Override
+    public CompletableFuture<Void> send(SimulatedDevice device, SensorRegistrationDto reading) {
+        Rule rule = ruleFor(device);
+        if (rule == null) return delegate.send(device, reading);
+        if (reading.getTimestamp() != null) {
+            reading.setTimestamp(skew(rule, device, reading.getTimestamp()));
+        }
+        return impair(rule, () -> {
+            reading.setDispatchedAtNanos(System.nanoTime());
+            return delegate.send(device, reading);
+        }, () -> delegate.send(device, reading));
+    }
+
+    @Override
+    public CompletableFuture<Void> sendReadings(SimulatedDevice device, DeviceReadingsDto readings) {
+        Rule rule = ruleFor(device);
+        if (rule == null) return delegate.sendReadings(device, readings);
+        if (readings.getTimestamp() != null) {
+            readings.setTimestamp(skew(rule, device, readings.getTimestamp()));
+        }
+        return impair(rule, () -> {
+            readings.setDispatchedAtNanos(System.nanoTime());
+            return delegate.sendReadings(device, readings);
+        }, () -> delegate.sendReadings(device, readings));
+    }
+
+    Rule ruleFor(SimulatedDevice device) {
+        String profile = device.getProfile() != null ? device.getProfile().getName() : null;
+        for (Rule rule : rules) {
+            if (rule.matches(profile, device.getId())) return rule;
+        }
+        return null;
+    }
+
+    private CompletableFuture<Void> impair(Rule rule, Supplier<CompletableFuture<Void>> sendOnce,
+                                           Supplier<CompletableFuture<Void>> sendCopy) {
+        ThreadLocalRandom r = ThreadLocalRandom.current();
+        if (rule.dropProbability > 0 && r.nextDouble() < rule.dropProbability) {
+            dropped.increment();
+            return CompletableFuture.completedFuture(null);
+        }
+        long delay = rule.sampleDelayNanos(r) + rule.sampleReorderNanos(r);
+        CompletableFuture<Void> result = later(delay, sendOnce);
+        if (rule.duplicateProbability > 0 && r.nextDouble() < rule.duplicateProbability) {
+            duplicated.increment();
+            later(delay + rule.sampleReorderNanos(r), sendCopy);
+        }
+        return result;
+    }
+
+    private CompletableFuture<Void> later(long delayNanos, Supplier<CompletableFuture<Void>> sendOnce) {
+        if (delayNanos <= 0) return sendOnce.get();
+        delayed.increment();
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        wheel.schedule(delayNanos, () -> sendOnce.get().whenComplete((ok, e) -> {
+            if (e == null) {
+                result.complete(null);
+            } else {
+                result.completeExceptionally(e);
+            }
+        }));
+        return result;
+    }
+
+    /** Device clock = true time + fixed per-device offset + per-device drift since start. */
+    LocalDateTime skew(Rule rule, SimulatedDevice device, LocalDateTime timestamp) {
+        if (rule.clockSkewNanos == 0 && rule.clockDriftPpm == 0) return timestamp;
+        long id = device.getId();
+        long offset = (long) (rule.clockSkewNanos * Rule.signedUnit(id, rule.index * 2L));
+        if (rule.clockDriftPpm != 0) {
+            double ppm = rule.clockDriftPpm * Rule.signedUnit(id, rule.index * 2L + 1);
+            offset += (long) ((System.nanoTime() - startNanos) * ppm / 1_000_000.0);
+        }
+        return timestamp.plusNanos(offset);
+    }
+
+    @Override
+    public void close() {
+        wheel.close();
+        delegate.close();
+    }
+
+    /** Immutable, pre-converted form of one simulator.impairments entry. */
+    static final class Rule {
+        final int index;
+        final Set<String> profiles;
+        final double deviceFraction;
+        final SimulatorConfig.Impairment.DelayDistribution distribution;
+        final long delayNanos;
+        final long jitterNanos;
+        final double shape;
+        final double dropProbability;
+        final double duplicateProbability;
+        final long reorderWindowNanos;
+        final long clockSkewNanos;
+        final double clockDriftPpm;
+
+        Rule(int index, SimulatorConfig.Impairment cfg) {
+            this.index = index;
+            this.profiles = cfg.getProfiles() == null ? Set.of() : Set.copyOf(cfg.getProfiles());
+            this.deviceFraction = cfg.getDeviceFraction();
+            this.distribution = cfg.getDelayDistribution();
+            this.delayNanos = TimeUnit.MILLISECONDS.toNanos(cfg.getDelayMs());
+            this.jitterNanos = TimeUnit.MILLISECONDS.toNanos(cfg.getDelayJitterMs());
+            this.shape = cfg.getDelayShape();
+            this.dropProbability = cfg.getDropProbability();
+            this.duplicateProbability = cfg.getDuplicateProbability();
+            this.reorderWindowNanos = TimeUnit.MILLISECONDS.toNanos(cfg.getReorderWindowMs());
+            this.clockSkewNanos = TimeUnit.MILLISECONDS.toNanos(cfg.getClockSkewMs());
+            this.clockDriftPpm = cfg.getClockDriftPpm();
+        }
+
+        boolean matches(String profile, long deviceId) {
+            if (!profiles.isEmpty() && (profile == null || !profiles.contains(profile))) return false;
+            // the same devices are selected on every send and across restarts
+            return deviceFraction >= 1.0 || (signedUnit(deviceId, -1 - index) + 1) / 2 < deviceFraction;
+        }
+
+        long sampleDelayNanos(ThreadLocalRandom r) {
+            if (delayNanos == 0 && jitterNanos == 0) return 0;
+            double d = switch (distribution) {
+                case FIXED -> delayNanos;
+                case UNIFORM -> delayNanos + (r.nextDouble() * 2 - 1) * jitterNanos;
+                case NORMAL -> delayNanos + r.nextGaussian() * jitterNanos;
+                case EXPONENTIAL -> -Math.log(1 - r.nextDouble()) * delayNanos;
+                case PARETO -> delayNanos / Math.pow(1 - r.nextDouble(), 1.0 / shape);
+            };
+            return (long) Math.min(MAX_DELAY_NANOS, Math.max(0, d));
+        }
+
+        long sampleReorderNanos(ThreadLocalRandom r) {
+            return reorderWindowNanos > 0 ? r.nextLong(reorderWindowNanos + 1) : 0;
+        }
+
+        /** Deterministic value in [-1, 1) per (device, salt): SplitMix64 finaliser. */
+        static double signedUnit(long deviceId, long salt) {
+            long z = deviceId * 0x9E3779B97F4A7C15L + salt * 0xBF58476D1CE4E5B9L;
+            z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+            z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+            z = z ^ (z >>> 31);
+            return (z >>> 11) * 0x1.0p-53 * 2 - 1;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.pratik.deviceSimulator.transport;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * One MQTT client connection. Kept minimal so {@link MqttSensorTransport} can run against a
+ * real broker ({@link PahoMqttPublisher}) or an in-process stand-in in tests.
+ */
+public interface MqttPublisher {
+
+    /** Publishes without waiting; the future completes when the broker acknowledges (QoS 1) or the frame is written (QoS 0). */
+    CompletableFuture<Void> publish(String topic, byte[] payload, int qos);
+
+    void close();
+}
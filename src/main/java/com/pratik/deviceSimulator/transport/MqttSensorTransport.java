@@ -0,0 +1,132 @@
+package com.pratik.deviceSimulator.transport;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pratik.deviceSimulator.config.SimulatorConfig;
+import com.pratik.deviceSimulator.dto.DeviceReadingsDto;
+import com.pratik.deviceSimulator.dto.SensorRegistrationDto;
+import com.pratik.deviceSimulator.model.SimulatedDevice;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Publishes readings as JSON to an MQTT topic built from {@code simulator.mqtt.topic-template}
+ * ({@code {id}}, {@code {localId}}, {@code {sensorType}} placeholders). Grouped messages use
+ * {@code readings} as the sensor type.
+ *
+ * PER_DEVICE gives every device its own client session (client id prefix + local id), like a
+ * real fleet; SHARED multiplexes all devices over {@code simulator.mqtt.shared-connections}
+ * clients picked by device slot. Connections are opened lazily on first publish, outside the
+ * map's locks: only senders for the client id being connected wait for it.
+ */
+public class MqttSensorTransport implements SensorTransport {
+
+    static final String GROUPED_TOPIC_TYPE = "readings";
+
+    private final SimulatorConfig.Mqtt settings;
+    private final ObjectMapper objectMapper;
+    private final Function<String, MqttPublisher> publisherFactory;
+    private final Map<String, Connection> publishers = new ConcurrentHashMap<>();
+
+    /**
+     * @param publisherFactory opens a connected publisher for the given client id
+     */
+    public MqttSensorTransport(SimulatorConfig.Mqtt settings, ObjectMapper objectMapper,
+                               Function<String, MqttPublisher> publisherFactory) {
+        this.settings = settings;
+        this.objectMapper = objectMapper;
+        this.publisherFactory = publisherFactory;
+    }
+
+    @Override
+    public String name() {
+        return "mqtt";
+    }
+
+    @Override
+    public CompletableFuture<Void> send(SimulatedDevice device, SensorRegistrationDto reading) {
+        return publish(device, String.valueOf(reading.getSensorType()), reading);
+    }
+
+    @Override
+    public CompletableFuture<Void> sendReadings(SimulatedDevice device, DeviceReadingsDto readings) {
+        return publish(device, GROUPED_TOPIC_TYPE, readings);
+    }
+
+    private CompletableFuture<Void> publish(SimulatedDevice device, String sensorType, Object message) {
+        try {
+            byte[] payload = objectMapper.writeValueAsBytes(message);
+            return publisherFor(device).publish(topicFor(device, sensorType), payload, settings.getQos());
+        } catch (JsonProcessingException | RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    String topicFor(SimulatedDevice device, SensorRegistrationDto reading) {
+        return topicFor(device, String.valueOf(reading.getSensorType()));
+    }
+
+    String topicFor(SimulatedDevice device, String sensorType) {
+        Long targetId = device.getRegisteredId() != null ? device.getRegisteredId() : device.getId();
+        return settings.getTopicTemplate()
+                .replace("{id}", String.valueOf(targetId))
+                .replace("{localId}", String.valueOf(device.getId()))
+                .replace("{sensorType}", sensorType);
+    }
+
+    private MqttPublisher publisherFor(SimulatedDevice device) {
+        String clientId;
+        if (settings.getSessionMode() == SimulatorConfig.Mqtt.SessionMode.PER_DEVICE) {
+            clientId = settings.getClientIdPrefix() + device.getId();
+        } else {
+            int connections = Math.max(1, settings.getSharedConnections());
+            clientId = settings.getClientIdPrefix() + "shared-" + Math.floorMod(device.getSlot(), connections);
+        }
+        return publishers.computeIfAbsent(clientId, Connection::new).open(publisherFactory);
+    }
+
+    int openConnections() {
+        return (int) publishers.values().stream().filter(c -> c.publisher != null).count();
+    }
+
+    @Override
+    public void close() {
+        publishers.values().forEach(Connection::close);
+        publishers.clear();
+    }
+
+    /** One client id's publisher, connected on first use; a failed connect is retried by the next send. */
+    private static final class Connection {
+        private final String clientId;
+        // a lock rather than synchronized so virtual threads waiting for the connect do not pin their carrier
+        private final ReentrantLock lock = new ReentrantLock();
+        private volatile MqttPublisher publisher;
+
+        Connection(String clientId) {
+            this.clientId = clientId;
+        }
+
+        MqttPublisher open(Function<String, MqttPublisher> factory) {
+            MqttPublisher p = publisher;
+            if (p != null) return p;
+            lock.lock();
+            try {
+                if (publisher == null) {
+                    publisher = factory.apply(clientId);
+                }
+                return publisher;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void close() {
+            MqttPublisher p = publisher;
+            if (p != null) p.close();
+        }
+    }
+}
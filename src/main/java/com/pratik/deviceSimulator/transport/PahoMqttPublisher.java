@@ -0,0 +1,120 @@
+package com.pratik.deviceSimulator.transport;
+
+import org.eclipse.paho.client.mqttv3.IMqttActionListener;
+import org.eclipse.paho.client.mqttv3.IMqttToken;
+import org.eclipse.paho.client.mqttv3.MqttAsyncClient;
+import org.eclipse.paho.client.mqttv3.MqttConnectOptions;
+import org.eclipse.paho.client.mqttv3.MqttException;
+import org.eclipse.paho.client.mqttv3.persist.MemoryPersistence;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link MqttPublisher} on an Eclipse Paho async client. Publishes are pipelined: up to
+ * {@code maxInflight} unacknowledged messages per connection, completion via callbacks.
+ *
+ * Paho rejects a publish outright once its in-flight window is full, so a permit per
+ * window slot is taken before each publish and returned on completion; a sender beyond the
+ * window waits (up to the connect timeout) instead of failing.
+ */
+public class PahoMqttPublisher implements MqttPublisher {
+
+    private static final Logger log = LoggerFactory.getLogger(PahoMqttPublisher.class);
+
+    private final MqttAsyncClient client;
+    private final Semaphore inflight;
+    private final long acquireTimeoutMs;
+
+    public PahoMqttPublisher(String brokerUrl, String clientId, int maxInflight, long connectTimeoutMs) {
+        this(newClient(brokerUrl, clientId), maxInflight, connectTimeoutMs);
+    }
+
+    PahoMqttPublisher(MqttAsyncClient client, int maxInflight, long connectTimeoutMs) {
+        this.client = client;
+        this.inflight = new Semaphore(Math.max(1, maxInflight));
+        this.acquireTimeoutMs = connectTimeoutMs;
+        try {
+            MqttConnectOptions options = new MqttConnectOptions();
+            options.setCleanSession(true);
+            options.setAutomaticReconnect(true);
+            options.setMaxInflight(maxInflight);
+            client.connect(options).waitForCompletion(connectTimeoutMs);
+            log.debug("MQTT client {} connected to {}", client.getClientId(), client.getServerURI());
+        } catch (MqttException | RuntimeException e) {
+            // the caller retries with a new client; a late connect of this one would share its clientId
+            closeQuietly(client);
+            throw new IllegalStateException("MQTT connect to " + client.getServerURI() + " as " + client.getClientId()
+                    + " failed: " + e.getMessage(), e);
+        }
+    }
+
+    private static MqttAsyncClient newClient(String brokerUrl, String clientId) {
+        try {
+            return new MqttAsyncClient(brokerUrl, clientId, new MemoryPersistence());
+        } catch (MqttException e) {
+            throw new IllegalStateException("MQTT client for " + brokerUrl + " as " + clientId + " failed: " + e.getMessage(), e);
+        }
+    }
+
+    private static void closeQuietly(MqttAsyncClient client) {
+        try {
+            client.disconnectForcibly(0, 0, false);
+        } catch (MqttException | RuntimeException e) {
+            log.debug("MQTT forced disconnect of {} failed: {}", client.getClientId(), e.getMessage());
+        }
+        try {
+            client.close(true);
+        } catch (MqttException | RuntimeException e) {
+            log.debug("MQTT close of {} failed: {}", client.getClientId(), e.getMessage());
+        }
+    }
+
+    @Override
+    public CompletableFuture<Void> publish(String topic, byte[] payload, int qos) {
+        try {
+            if (!inflight.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS)) {
+                return CompletableFuture.failedFuture(new IllegalStateException(
+                        "MQTT in-flight window full for " + acquireTimeoutMs + " ms"));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return CompletableFuture.failedFuture(e);
+        }
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        try {
+            client.publish(topic, payload, qos, false, null, new IMqttActionListener() {
+                @Override
+                public void onSuccess(IMqttToken token) {
+                    inflight.release();
+                    result.complete(null);
+                }
+
+                @Override
+                public void onFailure(IMqttToken token, Throwable exception) {
+                    inflight.release();
+                    result.completeExceptionally(exception);
+                }
+            });
+        } catch (MqttException | RuntimeException e) {
+            inflight.release();
+            result.completeExceptionally(e);
+        }
+        return result;
+    }
+
+    @Override
+    public void close() {
+        try {
+            if (client.isConnected()) {
+                client.disconnect().waitForCompletion(1000);
+            }
+            client.close();
+        } catch (MqttException e) {
+            log.debug("MQTT close failed: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.pratik.deviceSimulator.transport;
+
+import com.pratik.deviceSimulator.dto.DeviceReadingsDto;
+import com.pratik.deviceSimulator.dto.SensorRegistrationDto;
+import com.pratik.deviceSimulator.model.SimulatedDevice;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * POSTs each reading to {@code simulator.target-url} and grouped readings to
+ * {@code simulator.batch-target-url}; completes on the calling thread.
+ */
+public class RestSensorTransport implements SensorTransport {
+
+    private final RestTemplate restTemplate;
+    private final String targetUrl;
+    private final String batchTargetUrl;
+
+    public RestSensorTransport(RestTemplate restTemplate, String targetUrl, String batchTargetUrl) {
+        this.restTemplate = restTemplate;
+        this.targetUrl = targetUrl;
+        this.batchTargetUrl = batchTargetUrl;
+    }
+
+    @Override
+    public String name() {
+        return "rest";
+    }
+
+    @Override
+    public CompletableFuture<Void> send(SimulatedDevice device, SensorRegistrationDto reading) {
+        return post(targetUrl, reading);
+    }
+
+    @Override
+    public CompletableFuture<Void> sendReadings(SimulatedDevice device, DeviceReadingsDto readings) {
+        return post(batchTargetUrl, readings);
+    }
+
+    private CompletableFuture<Void> post(String url, Object body) {
+        try {
+            restTemplate.postForEntity(url, body, Void.class);
+            return CompletableFuture.completedFuture(null);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+}
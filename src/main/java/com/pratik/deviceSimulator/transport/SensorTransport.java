@@ -0,0 +1,28 @@
+package com.pratik.deviceSimulator.transport;
+
+import com.pratik.deviceSimulator.dto.DeviceReadingsDto;
+import com.pratik.deviceSimulator.dto.SensorRegistrationDto;
+import com.pratik.deviceSimulator.model.SimulatedDevice;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Carries sensor readings from a simulated device to the analyser: one reading at a time,
+ * or all sensors of a grouped-profile device in one message.
+ *
+ * Implementations may complete the returned future on the calling thread (blocking
+ * transports such as REST) or later from an I/O thread (pipelined transports such as MQTT);
+ * callers must not assume either.
+ */
+public interface SensorTransport {
+
+    /** Short name used in logs and metrics, e.g. "rest", "stomp", "mqtt". */
+    String name();
+
+    CompletableFuture<Void> send(SimulatedDevice device, SensorRegistrationDto reading);
+
+    CompletableFuture<Void> sendReadings(SimulatedDevice device, DeviceReadingsDto readings);
+
+    default void close() {
+    }
+}
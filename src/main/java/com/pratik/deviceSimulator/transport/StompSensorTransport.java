@@ -0,0 +1,52 @@
+package com.pratik.deviceSimulator.transport;
+
+import com.pratik.deviceSimulator.dto.DeviceReadingsDto;
+import com.pratik.deviceSimulator.dto.SensorRegistrationDto;
+import com.pratik.deviceSimulator.model.SimulatedDevice;
+import com.pratik.deviceSimulator.service.WebSocketClientService;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Sends each reading (or grouped message) as a STOMP frame to {@code /topic/sensorData} over the shared
+ * {@link WebSocketClientService} session.
+ */
+public class StompSensorTransport implements SensorTransport {
+
+    private final WebSocketClientService webSocketClientService;
+
+    public StompSensorTransport(WebSocketClientService webSocketClientService) {
+        this.webSocketClientService = webSocketClientService;
+    }
+
+    @Override
+    public String name() {
+        return "stomp";
+    }
+
+    @Override
+    public CompletableFuture<Void> send(SimulatedDevice device, SensorRegistrationDto reading) {
+        return sendFrame(reading);
+    }
+
+    @Override
+    public CompletableFuture<Void> sendReadings(SimulatedDevice device, DeviceReadingsDto readings) {
+        return sendFrame(readings);
+    }
+
+    private CompletableFuture<Void> sendFrame(Object payload) {
+        try {
+            if (!webSocketClientService.sendSensorData(payload)) {
+                return CompletableFuture.failedFuture(new IllegalStateException("WebSocket not connected"));
+            }
+            return CompletableFuture.completedFuture(null);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        webSocketClientService.disconnect();
+    }
+}
@@ -0,0 +1,172 @@
+package com.pratik.deviceSimulator.transport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Hashed timer wheel for delayed sends. {@link #schedule} is a lock-free enqueue; one
+ * daemon thread advances the wheel every tick and hands due tasks to an {@link Executor},
+ * so a delayed message never holds a thread while it waits.
+ *
+ * Tasks land in slot {@code deadlineTick & mask}; deadlines further out than one turn of
+ * the wheel carry a remaining-rounds count. Scheduling and expiry are O(1), and precision
+ * is one tick (tasks never fire early). With nothing pending the worker parks until the
+ * next {@link #schedule} instead of ticking, then resumes from the current time.
+ */
+public final class TimerWheel implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(TimerWheel.class);
+
+    private final long tickNanos;
+    private final int mask;
+    private final Slot[] slots;
+    private final Queue<Task> incoming = new ConcurrentLinkedQueue<>();
+    private final Executor executor;
+    private final AtomicInteger pending = new AtomicInteger();
+    private final long startNanos = System.nanoTime();
+    private final Thread worker;
+    private volatile boolean running = true;
+    private volatile boolean idle;
+    private long tick; // owned by the worker thread
+
+    public TimerWheel(long tickMillis, int wheelSize, Executor executor) {
+        if (wheelSize <= 0 || Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("wheelSize must be a power of two");
+        }
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, tickMillis));
+        this.mask = wheelSize - 1;
+        this.slots = new Slot[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            slots[i] = new Slot();
+        }
+        this.executor = executor;
+        this.worker = new Thread(this::run, "sim-timer-wheel");
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /** Runs {@code task} on the executor after at least {@code delayNanos}. */
+    public void schedule(long delayNanos, Runnable task) {
+        if (!running) {
+            throw new RejectedExecutionException("Timer wheel is closed");
+        }
+        if (delayNanos <= 0) {
+            dispatch(task);
+            return;
+        }
+        pending.incrementAndGet();
+        incoming.add(new Task(System.nanoTime() + delayNanos, task));
+        if (idle) {
+            LockSupport.unpark(worker);
+        }
+    }
+
+    /** Tasks scheduled but not yet handed to the executor. */
+    public int pending() {
+        return pending.get();
+    }
+
+    /** True while the worker is parked with nothing to do. */
+    boolean isIdle() {
+        return idle;
+    }
+
+    private void run() {
+        while (running) {
+            if (pending.get() == 0) {
+                awaitWork();
+            }
+            long tickDeadline = startNanos + (tick + 1) * tickNanos;
+            long wait;
+            while ((wait = tickDeadline - System.nanoTime()) > 0 && running) {
+                LockSupport.parkNanos(this, wait);
+            }
+            transferIncoming();
+            expire(slots[(int) (tick & mask)]);
+            tick++;
+        }
+    }
+
+    // every slot is empty when nothing is pending, so ticks can be skipped while parked
+    private void awaitWork() {
+        idle = true;
+        while (pending.get() == 0 && running) { // re-checked after publishing idle, so no wake-up is lost
+            LockSupport.park(this);
+        }
+        idle = false;
+        tick = Math.max(tick, (System.nanoTime() - startNanos) / tickNanos);
+    }
+
+    private void transferIncoming() {
+        Task t;
+        while ((t = incoming.poll()) != null) {
+            // ceil: a task is never placed in a slot that expires before its deadline
+            long deadlineTick = Math.max(tick, (t.deadlineNanos - startNanos + tickNanos - 1) / tickNanos - 1);
+            t.remainingRounds = (deadlineTick - tick) / slots.length;
+            slots[(int) (deadlineTick & mask)].tasks.add(t);
+        }
+    }
+
+    private void expire(Slot slot) {
+        Iterator<Task> it = slot.tasks.iterator();
+        while (it.hasNext()) {
+            Task t = it.next();
+            if (t.remainingRounds > 0) {
+                t.remainingRounds--;
+                continue;
+            }
+            it.remove();
+            pending.decrementAndGet();
+            dispatch(t.action);
+        }
+    }
+
+    private void dispatch(Runnable action) {
+        try {
+            executor.execute(action);
+        } catch (RejectedExecutionException e) {
+            logger.debug("Delayed task rejected: {}", e.getMessage());
+        }
+    }
+
+    /** Stops the wheel; tasks that have not fired yet are discarded. */
+    @Override
+    public void close() {
+        running = false;
+        LockSupport.unpark(worker);
+        try {
+            worker.join(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        int dropped = pending.getAndSet(0);
+        if (dropped > 0) {
+            logger.info("Timer wheel closed with {} delayed sends still pending", dropped);
+        }
+    }
+
+    private static final class Slot {
+        final ArrayDeque<Task> tasks = new ArrayDeque<>();
+    }
+
+    private static final class Task {
+        final long deadlineNanos;
+        final Runnable action;
+        long remainingRounds;
+
+        Task(long deadlineNanos, Runnable action) {
+            this.deadlineNanos = deadlineNanos;
+            this.action = action;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.pratik.deviceSimulator.controller;
+
+import com.pratik.deviceSimulator.service.SimulatorTelemetry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TelemetryStreamControllerTest {
+
+    /** Emitter whose first write hangs until released, like a client that stopped reading. */
+    static class StalledEmitter extends SseEmitter {
+        final CountDownLatch entered = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final List<Object> frames = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            entered.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            frames.add(builder.build());
+        }
+    }
+
+    private final ExecutorService sender = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void tearDown() {
+        sender.shutdownNow();
+    }
+
+    @Test
+    void stalledClientNeitherBlocksTheRollNorQueuesFrames() throws Exception {
+        SimulatorTelemetry telemetry = new SimulatorTelemetry();
+        TelemetryStreamController controller = new TelemetryStreamController(telemetry, sender);
+        StalledEmitter emitter = new StalledEmitter();
+        controller.register(emitter);
+
+        telemetry.roll();
+        assertTrue(emitter.entered.await(2, TimeUnit.SECONDS));
+        assertTimeoutPreemptively(Duration.ofSeconds(2), () -> {
+            for (int i = 0; i < 10; i++) {
+                telemetry.roll(); // the client is stuck in a write
+            }
+        });
+
+        emitter.release.countDown();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (emitter.frames.size() < 2 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        Thread.sleep(50);
+        assertEquals(2, emitter.frames.size(), "the frame in flight plus only the newest one");
+    }
+}
@@ -0,0 +1,40 @@
+package com.pratik.deviceSimulator.service;
+
+import com.pratik.deviceSimulator.config.SimulatorConfig;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.availability.ApplicationAvailabilityBean;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.LivenessState;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.ApplicationEventPublisher;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AnalyserAvailabilityProbeTest {
+
+    private final ApplicationAvailabilityBean availability = new ApplicationAvailabilityBean();
+    private final ApplicationEventPublisher publisher = event -> availability.onApplicationEvent((AvailabilityChangeEvent<?>) event);
+
+    @Test
+    void analyserOutageOnlyTakesTheSimulatorOutOfReadiness() {
+        AnalyserAvailabilityProbe probe = new AnalyserAvailabilityProbe(new SimulatorConfig(), publisher, availability);
+        AvailabilityChangeEvent.publish(publisher, this, LivenessState.CORRECT);
+        AvailabilityChangeEvent.publish(publisher, this, ReadinessState.ACCEPTING_TRAFFIC); // application ready
+
+        probe.record(false);
+        assertEquals(ReadinessState.REFUSING_TRAFFIC, availability.getReadinessState());
+        assertEquals(LivenessState.CORRECT, availability.getLivenessState());
+
+        probe.record(true);
+        assertEquals(ReadinessState.ACCEPTING_TRAFFIC, availability.getReadinessState());
+    }
+
+    @Test
+    void doesNotReopenTrafficItDidNotClose() {
+        AnalyserAvailabilityProbe probe = new AnalyserAvailabilityProbe(new SimulatorConfig(), publisher, availability);
+        AvailabilityChangeEvent.publish(publisher, this, ReadinessState.REFUSING_TRAFFIC); // e.g. shutting down
+
+        probe.record(true);
+        assertEquals(ReadinessState.REFUSING_TRAFFIC, availability.getReadinessState());
+    }
+}
@@ -0,0 +1,72 @@
+package com.pratik.deviceSimulator.service;
+
+import com.pratik.deviceSimulator.dto.VerificationReportDto;
+import com.pratik.deviceSimulator.model.SimulatedDevice;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DeliveryVerifierTest {
+
+    private static SimulatedDevice device(long id, int slot, Long registeredId) {
+        SimulatedDevice d = new SimulatedDevice(id, List.of("TEMPERATURE"));
+        d.setSlot(slot);
+        d.setRegisteredId(registeredId);
+        return d;
+    }
+
+    @Test
+    void countsLossDuplicatesReorderingAndLatency() {
+        SimulatedDevice a = device(1, 0, 501L);
+        SimulatedDevice b = device(2, 1, null);
+        a.nextSequence(); // emitted before verification: ignored
+        List<SimulatedDevice> fleet = List.of(a, b);
+
+        DeliveryVerifier verifier = new DeliveryVerifier();
+        verifier.start(fleet, "SINK");
+
+        long now = 10_000_000_000L;
+        for (int i = 0; i < 10; i++) {
+            a.nextSequence();
+            b.nextSequence();
+        }
+        // device a (target id 501): 2..11 emitted; receive all but 5, with 7 arriving after 9 and 3 twice
+        for (long seq : new long[]{2, 3, 3, 4, 6, 8, 9, 7, 10, 11}) {
+            verifier.record(501L, seq, now - 2_000_000, now);
+        }
+        // device b (local id 2): 1..10 emitted; receive 1..8
+        for (long seq = 1; seq <= 8; seq++) {
+            verifier.record(2L, seq, now - 4_000_000, now);
+        }
+        verifier.record(1L, 1L, now, now);   // a is addressed by its analyser id, so local id 1 is unmatched
+        verifier.record(501L, 1L, now, now); // emitted before start
+
+        VerificationReportDto report = verifier.report(fleet);
+        assertEquals(20, report.getExpected());
+        assertEquals(17, report.getUnique());
+        assertEquals(3, report.getLost());
+        assertEquals(1, report.getDuplicates());
+        assertEquals(1, report.getReordered());
+        assertEquals(0, report.getLate());
+        assertEquals(2.0, report.getLatencyP50Ms(), 0.01);
+        assertEquals(4.0, report.getLatencyMaxMs(), 0.01);
+    }
+
+    @Test
+    void sequencesOlderThanWindowAreLate() {
+        SimulatedDevice a = device(1, 0, null);
+        DeliveryVerifier verifier = new DeliveryVerifier();
+        verifier.start(List.of(a), "SINK");
+        for (int i = 0; i < 100; i++) a.nextSequence();
+
+        verifier.record(1L, 100L, null, 0);
+        verifier.record(1L, 1L, null, 0);
+
+        VerificationReportDto report = verifier.report(List.of(a));
+        assertEquals(1, report.getLate());
+        assertEquals(2, report.getUnique());
+        assertEquals(98, report.getLost());
+    }
+}
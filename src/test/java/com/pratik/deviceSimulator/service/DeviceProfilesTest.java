@@ -0,0 +1,78 @@
+package com.pratik.deviceSimulator.service;
+
+import com.pratik.deviceSimulator.config.SimulatorConfig;
+import com.pratik.deviceSimulator.model.DeviceProfile;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DeviceProfilesTest {
+
+    @Test
+    void withoutProfilesEveryDeviceGetsTheLegacyProfile() {
+        SimulatorConfig config = new SimulatorConfig(10, List.of("TEMPERATURE", "HUMIDITY"), "http://x/sensor");
+
+        List<DeviceProfile> profiles = DeviceProfiles.resolve(config);
+
+        assertEquals(1, profiles.size());
+        DeviceProfile legacy = profiles.get(0);
+        assertSame(config.getSensorTypes(), legacy.getSensorTypes());
+        assertFalse(legacy.isGrouped());
+        assertEquals("TEMPERATURE", legacy.getDeviceType());
+        assertTrue(legacy.isDue(7, 3));
+    }
+
+    @Test
+    void assignsDevicesByWeightInterleavedAndSharesProfileInstances() {
+        SimulatorConfig config = new SimulatorConfig(0, List.of("TEMPERATURE"), "http://x/sensor");
+        config.setDataPushInterval(1000);
+        config.setProfiles(List.of(
+                profile("gateway", 1, List.of("TEMPERATURE", "HUMIDITY", "MOTION"), 5000),
+                profile("thermostat", 3, List.of("TEMPERATURE"), 0)));
+
+        List<DeviceProfile> profiles = DeviceProfiles.resolve(config);
+        DeviceProfile[] assigned = DeviceProfiles.assign(profiles, 1_000);
+
+        long gateways = 0;
+        for (DeviceProfile p : assigned) {
+            if (p == profiles.get(0)) gateways++;
+        }
+        assertEquals(250, gateways);
+        // interleaved: every window of four consecutive devices holds exactly one gateway
+        for (int i = 0; i + 4 <= assigned.length; i += 4) {
+            int inWindow = 0;
+            for (int j = i; j < i + 4; j++) {
+                if (assigned[j] == profiles.get(0)) inWindow++;
+            }
+            assertEquals(1, inWindow);
+        }
+
+        DeviceProfile gateway = profiles.get(0);
+        assertTrue(gateway.isGrouped());
+        assertEquals(5, gateway.getEveryNTicks());
+        int due = 0;
+        for (long tick = 1; tick <= 10; tick++) {
+            if (gateway.isDue(tick, 2)) due++;
+        }
+        assertEquals(2, due);
+        assertFalse(profiles.get(1).isGrouped(), "single-sensor devices have nothing to group");
+    }
+
+    @Test
+    void rejectsDuplicateNames() {
+        SimulatorConfig config = new SimulatorConfig(0, List.of("TEMPERATURE"), "http://x/sensor");
+        config.setProfiles(List.of(profile("a", 1, List.of(), 0), profile("a", 1, List.of(), 0)));
+        assertThrows(IllegalStateException.class, () -> DeviceProfiles.resolve(config));
+    }
+
+    private static SimulatorConfig.Profile profile(String name, double weight, List<String> types, long reportIntervalMs) {
+        SimulatorConfig.Profile p = new SimulatorConfig.Profile();
+        p.setName(name);
+        p.setWeight(weight);
+        p.setSensorTypes(types);
+        p.setReportIntervalMs(reportIntervalMs);
+        return p;
+    }
+}
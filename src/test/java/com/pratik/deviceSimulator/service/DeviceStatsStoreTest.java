@@ -0,0 +1,111 @@
+package com.pratik.deviceSimulator.service;
+
+import com.pratik.deviceSimulator.config.SimulatorConfig;
+import com.pratik.deviceSimulator.dto.DeviceStatsDto;
+import com.pratik.deviceSimulator.model.SimulatedDevice;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DeviceStatsStoreTest {
+
+    private static final long MS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final List<SimulatedDevice> fleet = new ArrayList<>();
+    private final IntFunction<SimulatedDevice> bySlot = slot -> slot < fleet.size() ? fleet.get(slot) : null;
+
+    private DeviceStatsStore store(int devices) {
+        for (int i = 0; i < devices; i++) {
+            SimulatedDevice device = new SimulatedDevice(i + 1L, DeviceProfiles.legacy(0, "default", List.of("TEMPERATURE")));
+            device.setSlot(i);
+            fleet.add(device);
+        }
+        DeviceStatsStore store = new DeviceStatsStore(new SimulatorConfig());
+        store.reset(devices);
+        return store;
+    }
+
+    @Test
+    void slowestRanksByPerSendLatencyNotSendVolume() {
+        DeviceStatsStore store = store(3);
+        for (int i = 0; i < 10_000; i++) {
+            store.recordSuccess(0, 5 * MS, 1.0); // busy but fast
+        }
+        for (int i = 0; i < 5; i++) {
+            store.recordSuccess(1, 200 * MS, 1.0); // rare but slow
+        }
+        store.recordSuccess(2, 50 * MS, 1.0);
+
+        List<DeviceStatsDto> top = store.topSlowest(2, bySlot);
+
+        assertEquals(2, top.size());
+        assertEquals(2L, top.get(0).getDeviceId());
+        assertEquals(3L, top.get(1).getDeviceId());
+        assertEquals(200.0, top.get(0).getSmoothedLatencyMs(), 0.5);
+        assertEquals(200_000L, top.get(0).getRankWeight(), 500);
+    }
+
+    @Test
+    void smoothedLatencyFollowsRecentSends() {
+        DeviceStatsStore store = store(1);
+        store.recordSuccess(0, 100 * MS, 1.0);
+        for (int i = 0; i < 64; i++) {
+            store.recordSuccess(0, 10 * MS, 1.0);
+        }
+
+        assertEquals(10.0, store.statsFor(fleet.get(0)).getSmoothedLatencyMs(), 0.1);
+    }
+
+    @Test
+    void concurrentCompletionsForOneDeviceAreAllCounted() throws Exception {
+        DeviceStatsStore store = store(33); // slot 32 is the only key of its stripe's last block
+        List<Thread> writers = new ArrayList<>();
+        for (int w = 0; w < 4; w++) {
+            Thread t = new Thread(() -> {
+                for (int n = 0; n < 50_000; n++) {
+                    store.recordSuccess(32, MS, 1.0);
+                    store.recordFailure(32, MS);
+                }
+            });
+            writers.add(t);
+            t.start();
+        }
+        for (Thread t : writers) t.join();
+
+        DeviceStatsDto stats = store.statsFor(fleet.get(32));
+        assertEquals(200_000, stats.getSuccessCount());
+        assertEquals(200_000, stats.getFailureCount());
+        assertEquals(33L, store.topFailing(1, bySlot).get(0).getDeviceId());
+    }
+
+    @Test
+    void failingCountsAreExactAcrossConcurrentStripes() throws Exception {
+        int devices = 64;
+        DeviceStatsStore store = store(devices);
+        List<Thread> writers = new ArrayList<>();
+        for (int w = 0; w < 4; w++) {
+            int first = w * (devices / 4);
+            Thread t = new Thread(() -> {
+                for (int slot = first; slot < first + devices / 4; slot++) {
+                    for (int n = 0; n <= slot; n++) {
+                        store.recordFailure(slot, MS);
+                    }
+                }
+            });
+            writers.add(t);
+            t.start();
+        }
+        for (Thread t : writers) t.join();
+
+        List<DeviceStatsDto> top = store.topFailing(3, bySlot);
+
+        assertEquals(List.of(64L, 63L, 62L), top.stream().map(DeviceStatsDto::getDeviceId).toList());
+        assertEquals(64L, top.get(0).getRankWeight());
+        assertEquals(0L, top.get(0).getRankError());
+    }
+}
@@ -0,0 +1,84 @@
+package com.pratik.deviceSimulator.service;
+
+import com.pratik.deviceSimulator.config.SimulatorConfig;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.event.Level;
+
+import java.net.ConnectException;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogSamplerTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(LogSamplerTest.class);
+
+    @Test
+    void coalescesRepeatedEventsByRootCause() {
+        LogSampler sampler = new LogSampler(new SimulatorConfig());
+        RuntimeException refused = new RuntimeException("I/O error on POST request", new ConnectException("Connection refused"));
+        for (int i = 0; i < 4_812; i++) {
+            sampler.countFailure(logger, Level.ERROR, "sends failed", refused);
+        }
+        sampler.count(logger, Level.WARN, "anomalies injected", "TEMPERATURE");
+
+        List<LogSampler.Summary> summaries = sampler.drain().stream()
+                .sorted(Comparator.comparingLong(LogSampler.Summary::count).reversed())
+                .toList();
+        assertEquals(2, summaries.size());
+        assertEquals(String.format("%,d sends failed: Connection refused", 4_812), summaries.get(0).message());
+        assertEquals(Level.ERROR, summaries.get(0).level());
+        assertEquals(1, summaries.get(1).count());
+
+        assertTrue(sampler.drain().isEmpty(), "drain resets the window");
+    }
+
+    @Test
+    void foldsReasonsBeyondKeyLimitIntoOtherBucket() {
+        SimulatorConfig config = new SimulatorConfig();
+        config.setLogSamplerMaxKeys(4);
+        LogSampler sampler = new LogSampler(config);
+        for (int i = 0; i < 100; i++) {
+            sampler.count(logger, Level.WARN, "registration attempts failed", "status " + i);
+        }
+
+        List<LogSampler.Summary> summaries = sampler.drain();
+        assertTrue(summaries.size() <= 5);
+        assertEquals(100, summaries.stream().mapToLong(LogSampler.Summary::count).sum());
+        assertTrue(summaries.stream().anyMatch(s -> LogSampler.OTHER_REASON.equals(s.reason())));
+    }
+
+    @Test
+    void keepsCountingAcrossFlushesAndPrunesIdleKeys() throws Exception {
+        LogSampler sampler = new LogSampler(new SimulatorConfig());
+        int threads = 4;
+        int perThread = 250_000;
+        Thread[] writers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            writers[t] = new Thread(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    sampler.count(logger, Level.ERROR, "sends failed", "Connection refused");
+                }
+            });
+            writers[t].start();
+        }
+        long counted = 0;
+        while (anyAlive(writers)) {
+            counted += sampler.drain().stream().mapToLong(LogSampler.Summary::count).sum();
+        }
+        counted += sampler.drain().stream().mapToLong(LogSampler.Summary::count).sum();
+        assertEquals((long) threads * perThread, counted, "no increment is lost to a concurrent flush");
+
+        assertTrue(sampler.drain().isEmpty(), "an idle key is pruned");
+    }
+
+    private static boolean anyAlive(Thread[] threads) {
+        for (Thread t : threads) {
+            if (t.isAlive()) return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,193 @@
+package com.pratik.deviceSimulator.service;
+
+import com.pratik.deviceSimulator.config.JacksonConfig;
+import com.pratik.deviceSimulator.config.SimulatorConfig;
+import com.pratik.deviceSimulator.dto.DeviceReadingsDto;
+import com.pratik.deviceSimulator.dto.DeviceResponseDto;
+import com.pratik.deviceSimulator.dto.SensorRegistrationDto;
+import com.pratik.deviceSimulator.model.FleetSnapshot;
+import com.pratik.deviceSimulator.model.SimulatedDevice;
+import com.pratik.deviceSimulator.transport.SensorTransport;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.availability.ApplicationAvailabilityBean;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.RestTemplate;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MultiDeviceSimulatorServiceTest {
+
+    /** Registers devices instantly, except Device-4 whose registration hangs until released. */
+    static class SlowRegistrationRestTemplate extends RestTemplate {
+        final CountDownLatch releaseSlowDevice = new CountDownLatch(1);
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> ResponseEntity<T> postForEntity(String url, Object request, Class<T> responseType, Object... uriVariables) {
+            String name = String.valueOf(((Map<String, Object>) request).get("deviceName"));
+            if (name.equals("Device-4")) {
+                try {
+                    releaseSlowDevice.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            DeviceResponseDto body = new DeviceResponseDto();
+            body.setDeviceId(1000L + Long.parseLong(name.substring("Device-".length())));
+            return (ResponseEntity<T>) new ResponseEntity<>(body, HttpStatus.CREATED);
+        }
+    }
+
+    /** Records which analyser ids have sent something. */
+    static class RecordingTransport implements SensorTransport {
+        final Set<Long> senders = ConcurrentHashMap.newKeySet();
+
+        @Override
+        public String name() {
+            return "recording";
+        }
+
+        @Override
+        public CompletableFuture<Void> send(SimulatedDevice device, SensorRegistrationDto reading) {
+            senders.add(reading.getDeviceId());
+            return CompletableFuture.completedFuture(null);
+        }
+
+        @Override
+        public CompletableFuture<Void> sendReadings(SimulatedDevice device, DeviceReadingsDto readings) {
+            senders.add(readings.getDeviceId());
+            return CompletableFuture.completedFuture(null);
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private final SimulatorConfig config = new SimulatorConfig();
+    private final SlowRegistrationRestTemplate restTemplate = new SlowRegistrationRestTemplate();
+    private final RecordingTransport transport = new RecordingTransport();
+    private SimulatorWorkExecutor workExecutor;
+
+    @TempDir
+    Path tmp;
+
+    @AfterEach
+    void tearDown() {
+        restTemplate.releaseSlowDevice.countDown();
+        if (workExecutor != null) workExecutor.destroy();
+    }
+
+    private MultiDeviceSimulatorService service() {
+        config.setDeviceCount(4);
+        config.setSensorTypes(List.of("TEMPERATURE"));
+        config.setTargetUrl("http://analyser/sensor");
+        config.setStartupMode(SimulatorConfig.StartupMode.ASYNC);
+        config.setRegistrationParallelism(2);
+        config.setSnapshotLoadOnStartup(false);
+        config.setSnapshotPath(tmp.resolve("fleet.snapshot").toString());
+        config.setStompMirrorEnabled(false);
+        config.getReport().setEnabled(false);
+
+        ApplicationAvailabilityBean availability = new ApplicationAvailabilityBean();
+        AnalyserAvailabilityProbe analyserUp = new AnalyserAvailabilityProbe(config, event -> { }, availability) {
+            @Override
+            public boolean probe() {
+                return true;
+            }
+        };
+        workExecutor = new SimulatorWorkExecutor(config);
+        LogSampler logSampler = new LogSampler(config);
+        SimulatorTelemetry telemetry = new SimulatorTelemetry();
+        return new MultiDeviceSimulatorService(config, restTemplate, new Random(42), new SimpleMeterRegistry(),
+                new WebSocketClientService(config, new JacksonConfig().objectMapper(), logSampler),
+                new SimulationSnapshotService(), analyserUp, workExecutor, telemetry,
+                new DeviceStatsStore(config), transport, new DeliveryVerifier(), logSampler,
+                new RunReportService(config, telemetry, new JacksonConfig().objectMapper()));
+    }
+
+    @Test
+    void asyncStartupEmitsFromRegisteredDevicesWhileOthersAreStillRegistering() throws Exception {
+        MultiDeviceSimulatorService service = service();
+        service.init(); // returns at once; registration runs in the background
+
+        assertTrue(awaitSenders(Set.of(1001L, 1002L, 1003L), service), "registered devices emit");
+        assertFalse(transport.senders.stream().anyMatch(id -> id == 4L || id == 1004L),
+                "a device whose registration is pending stays silent");
+
+        restTemplate.releaseSlowDevice.countDown();
+        assertTrue(awaitSenders(Set.of(1004L), service), "the slow device starts once registered");
+    }
+
+    @Test
+    void snapshotDuringBackgroundRegistrationHoldsOnlyCompletedRegistrations() throws Exception {
+        MultiDeviceSimulatorService service = service();
+        service.init();
+        assertTrue(awaitSenders(Set.of(1001L, 1002L, 1003L), service));
+
+        // Device-4 is inside its registration call; the snapshot must not wait for it
+        FleetSnapshot during = assertTimeoutPreemptively(Duration.ofSeconds(2), service::saveSnapshot);
+        assertArrayEquals(new long[]{1001, 1002, 1003, FleetSnapshot.NO_REGISTERED_ID}, during.getRegisteredIds());
+
+        restTemplate.releaseSlowDevice.countDown();
+        assertTrue(awaitSenders(Set.of(1004L), service));
+        assertArrayEquals(new long[]{1001, 1002, 1003, 1004}, service.saveSnapshot().getRegisteredIds());
+    }
+
+    @Test
+    void snapshotNeverCapturesHalfATick() throws Exception {
+        MultiDeviceSimulatorService service = service();
+        restTemplate.releaseSlowDevice.countDown();
+        service.init();
+        assertTrue(awaitSenders(Set.of(1001L, 1002L, 1003L, 1004L), service));
+
+        // every device is due every tick and sends once, so between ticks all sequences have
+        // moved by the same amount (devices that registered a tick later stay one behind)
+        long[] base = service.saveSnapshot().getSequences();
+        AtomicBoolean running = new AtomicBoolean(true);
+        Thread ticker = new Thread(() -> {
+            while (running.get()) service.pushSensorData();
+        });
+        ticker.start();
+        try {
+            for (int i = 0; i < 200; i++) {
+                long[] sequences = service.saveSnapshot().getSequences();
+                long[] advanced = new long[sequences.length];
+                for (int d = 0; d < sequences.length; d++) {
+                    advanced[d] = sequences[d] - base[d];
+                }
+                assertEquals(1, Arrays.stream(advanced).distinct().count(), "advanced " + Arrays.toString(advanced));
+            }
+        } finally {
+            running.set(false);
+            ticker.join();
+        }
+    }
+
+    private boolean awaitSenders(Set<Long> ids, MultiDeviceSimulatorService service) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline) {
+            service.pushSensorData();
+            if (transport.senders.containsAll(ids)) return true;
+            Thread.sleep(10);
+        }
+        return false;
+    }
+}
@@ -0,0 +1,168 @@
+package com.pratik.deviceSimulator.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pratik.deviceSimulator.config.SimulatorConfig;
+import com.pratik.deviceSimulator.dto.RunComparisonDto;
+import com.pratik.deviceSimulator.dto.RunReportDto;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogReader;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RunReportServiceTest {
+
+    @TempDir
+    Path tmp;
+
+    @Test
+    void writesBucketedReportAndHistogramLog() throws Exception {
+        RunReportService service = service(10, 4);
+        service.startRun();
+        long t0 = 1_700_000_000_000L;
+        service.onInterval(t0 - 1000, t0, 0, 0, latency(0)); // idle lead-in is not part of the run
+        for (int s = 0; s < 100; s++) {
+            service.onInterval(t0 + s * 1000L, t0 + (s + 1) * 1000L, 100, s % 10 == 0 ? 1 : 0, latency(100));
+        }
+
+        RunReportDto report = service.finishRun();
+
+        assertNotNull(report);
+        assertEquals(t0, report.getStartedAtEpochMs());
+        assertEquals(10_000, report.getTotalReadings());
+        assertEquals(100.0, report.getMeanReadingsPerSec(), 1e-9);
+        assertTrue(report.getBuckets().size() <= 4, "buckets are coalesced beyond max-buckets");
+        assertEquals(40, report.getBucketSeconds());
+        assertEquals(10_000 + 10, report.getBuckets().stream()
+                .mapToDouble(b -> (b.getReadingsPerSec() + b.getErrorsPerSec()) * b.getSeconds()).sum(), 1e-6);
+        assertEquals(0.99, report.getLatencyP99Ms(), 0.01);
+
+        assertEquals(List.of(report.getRunId()), service.listReports());
+        RunReportDto stored = service.readReport(report.getRunId()).orElseThrow();
+        assertEquals(report.getTotalReadings(), stored.getTotalReadings());
+
+        HistogramLogReader reader = new HistogramLogReader(tmp.resolve(report.getHistogramLog()).toFile());
+        long logged = 0;
+        int intervals = 0;
+        Histogram h;
+        while ((h = (Histogram) reader.nextIntervalHistogram()) != null) {
+            logged += h.getTotalCount();
+            intervals++;
+        }
+        assertEquals(100 * 100, logged);
+        assertTrue(intervals > report.getBuckets().size(), "the .hlog keeps buckets written before coalescing");
+        assertTrue(Files.size(tmp.resolve(report.getHistogramLog())) < 10_000);
+    }
+
+    @Test
+    void appendsClosedBucketsToTheLogWhileRunning() throws Exception {
+        RunReportService service = service(10, 100);
+        service.startRun();
+        long t0 = 1_700_000_000_000L;
+        for (int s = 0; s < 25; s++) {
+            service.onInterval(t0 + s * 1000L, t0 + (s + 1) * 1000L, 10, 0, latency(10));
+        }
+
+        RunReportDto partial = service.writeCurrent();
+
+        assertFalse(partial.isComplete());
+        assertEquals(3, partial.getBuckets().size(), "two closed buckets plus the one being filled");
+        assertEquals(250, partial.getTotalReadings());
+        assertEquals(2, intervalCounts(partial).size(), "only closed buckets are in the log so far");
+
+        RunReportDto report = service.finishRun();
+
+        assertEquals(List.of(100L, 100L, 50L), intervalCounts(report));
+    }
+
+    @Test
+    void runsStartedInTheSameSecondKeepSeparateFiles() throws Exception {
+        long t0 = 1_700_000_000_000L;
+        RunReportService first = service(10, 100);
+        RunReportService second = service(10, 100);
+        first.startRun();
+        second.startRun();
+        first.onInterval(t0, t0 + 1000, 10, 0, latency(10));
+        second.onInterval(t0 + 200, t0 + 1200, 20, 0, latency(20));
+
+        RunReportDto a = first.finishRun();
+        RunReportDto b = second.finishRun();
+
+        assertNotEquals(a.getRunId(), b.getRunId());
+        assertEquals(a.getRunId() + "-2", b.getRunId());
+        assertEquals(10, first.readReport(a.getRunId()).orElseThrow().getTotalReadings());
+        assertEquals(20, first.readReport(b.getRunId()).orElseThrow().getTotalReadings());
+        assertEquals(List.of(10L), intervalCounts(a));
+        assertEquals(List.of(20L), intervalCounts(b));
+    }
+
+    @Test
+    void flagsRegressionsBeyondThreshold() {
+        RunReportDto baseline = report("base", 1000, 0.0, 5.0, 20.0);
+        RunReportDto faster = report("ok", 980, 0.0005, 5.2, 21.0);
+        RunReportDto slower = report("bad", 850, 0.02, 5.1, 30.0);
+
+        RunComparisonDto ok = RunReportComparator.compare(baseline, faster, 10);
+        assertFalse(ok.isRegressed());
+
+        RunComparisonDto bad = RunReportComparator.compare(baseline, slower, 10);
+        assertTrue(bad.isRegressed());
+        List<String> regressed = bad.getMetrics().stream().filter(RunComparisonDto.MetricDelta::isRegression)
+                .map(RunComparisonDto.MetricDelta::getMetric).toList();
+        assertEquals(List.of("meanReadingsPerSec", "errorRate", "latencyP99Ms", "latencyP999Ms"), regressed);
+    }
+
+    @Test
+    void runWithoutTrafficWritesNothing() throws Exception {
+        RunReportService service = service(10, 100);
+        service.startRun();
+        service.onInterval(0, 1000, 0, 0, latency(0));
+        assertNull(service.finishRun());
+        assertTrue(service.listReports().isEmpty());
+    }
+
+    private List<Long> intervalCounts(RunReportDto report) throws Exception {
+        HistogramLogReader reader = new HistogramLogReader(tmp.resolve(report.getHistogramLog()).toFile());
+        List<Long> counts = new ArrayList<>();
+        Histogram h;
+        while ((h = (Histogram) reader.nextIntervalHistogram()) != null) {
+            counts.add(h.getTotalCount());
+        }
+        return counts;
+    }
+
+    private RunReportService service(int bucketSeconds, int maxBuckets) {
+        SimulatorConfig config = new SimulatorConfig(10, List.of("TEMPERATURE"), "http://x/sensor");
+        config.getReport().setDirectory(tmp.toString());
+        config.getReport().setScenario("smoke test");
+        config.getReport().setBucketSeconds(bucketSeconds);
+        config.getReport().setMaxBuckets(maxBuckets);
+        return new RunReportService(config, new SimulatorTelemetry(), new ObjectMapper());
+    }
+
+    private static Histogram latency(int samples) {
+        Histogram h = new Histogram(3);
+        for (int i = 0; i < samples; i++) {
+            h.recordValue(500 + i * 5); // 0.5 .. 1.0 ms
+        }
+        return h;
+    }
+
+    private static RunReportDto report(String id, double throughput, double errorRate, double p50, double p99) {
+        RunReportDto r = new RunReportDto();
+        r.setRunId(id);
+        r.setMeanReadingsPerSec(throughput);
+        r.setErrorRate(errorRate);
+        r.setLatencyP50Ms(p50);
+        r.setLatencyP90Ms(p50 * 2);
+        r.setLatencyP99Ms(p99);
+        r.setLatencyP999Ms(p99);
+        return r;
+    }
+}
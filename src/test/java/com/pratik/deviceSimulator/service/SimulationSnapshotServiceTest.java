@@ -0,0 +1,70 @@
+package com.pratik.deviceSimulator.service;
+
+import com.pratik.deviceSimulator.config.SnapshotableRandom;
+import com.pratik.deviceSimulator.model.FleetSnapshot;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SimulationSnapshotServiceTest {
+
+    @TempDir
+    Path tmp;
+
+    @Test
+    void roundTripsAllColumns() throws Exception {
+        int n = 1_000;
+        long[] ids = new long[n];
+        long[] registeredIds = new long[n];
+        int[] setIndexes = new int[n];
+        boolean[] connected = new boolean[n];
+        long[] sequences = new long[n];
+        int[] profileIndexes = new int[n];
+        for (int i = 0; i < n; i++) {
+            ids[i] = i + 1;
+            registeredIds[i] = i % 7 == 0 ? FleetSnapshot.NO_REGISTERED_ID : 1000 + i;
+            setIndexes[i] = i % 2;
+            connected[i] = i % 3 != 0;
+            sequences[i] = i * 10L;
+            profileIndexes[i] = i % 5 == 0 ? FleetSnapshot.NO_PROFILE : i % 2;
+        }
+        List<List<String>> sets = List.of(List.of("TEMPERATURE", "HUMIDITY"), List.of("MOTION"));
+        List<String> profileNames = List.of("gateway", "thermostat");
+        FleetSnapshot original = new FleetSnapshot(42L, false, 12345L, sets, ids, registeredIds, setIndexes, connected,
+                sequences, profileNames, profileIndexes);
+
+        SimulationSnapshotService service = new SimulationSnapshotService();
+        Path file = tmp.resolve("fleet.bin");
+        service.write(original, file);
+        FleetSnapshot read = service.read(file);
+
+        assertEquals(42L, read.getCapturedAtEpochMs());
+        assertFalse(read.isSimulationEnabled());
+        assertEquals(12345L, read.getRngState());
+        assertEquals(sets, read.getSensorSets());
+        assertArrayEquals(ids, read.getIds());
+        assertArrayEquals(registeredIds, read.getRegisteredIds());
+        assertArrayEquals(setIndexes, read.getSensorSetIndexes());
+        assertArrayEquals(connected, read.getConnected());
+        assertArrayEquals(sequences, read.getSequences());
+        assertEquals(profileNames, read.getProfileNames());
+        assertArrayEquals(profileIndexes, read.getProfileIndexes());
+    }
+
+    @Test
+    void restoredRandomContinuesSameSequence() {
+        SnapshotableRandom random = new SnapshotableRandom(7L);
+        random.nextInt();
+        long state = random.getState();
+        double expected = random.nextDouble();
+
+        SnapshotableRandom resumed = new SnapshotableRandom();
+        resumed.setState(state);
+        assertEquals(expected, resumed.nextDouble());
+        assertEquals(new java.util.Random(7L).nextInt(), new SnapshotableRandom(7L).nextInt());
+    }
+}
@@ -0,0 +1,50 @@
+package com.pratik.deviceSimulator.service;
+
+import com.pratik.deviceSimulator.dto.TelemetrySnapshotDto;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SimulatorTelemetryTest {
+
+    @Test
+    void rollTurnsRecordedSendsIntoPerSecondRatesAndPercentiles() {
+        SimulatorTelemetry telemetry = new SimulatorTelemetry();
+        AtomicReference<TelemetrySnapshotDto> published = new AtomicReference<>();
+        telemetry.addListener(published::set);
+        long t0 = System.nanoTime();
+        telemetry.roll(t0, 1_000_000L); // start a clean interval
+
+        for (int ms = 1; ms <= 400; ms++) {
+            telemetry.recordSent("TEMPERATURE", TimeUnit.MILLISECONDS.toNanos(ms));
+        }
+        telemetry.recordSent(List.of("HUMIDITY", "MOTION"), TimeUnit.MILLISECONDS.toNanos(1));
+        for (int i = 0; i < 20; i++) {
+            telemetry.recordFailed(TimeUnit.MILLISECONDS.toNanos(5));
+        }
+        telemetry.setConnectedDevices(7);
+        telemetry.roll(t0 + TimeUnit.SECONDS.toNanos(2), 1_002_000L);
+
+        TelemetrySnapshotDto s = telemetry.getLatest();
+        assertSame(s, published.get());
+        assertEquals(1_002_000L, s.getEpochMs());
+        assertEquals(201.0, s.getReadingsPerSec(), 1e-9); // 402 readings over 2 s
+        assertEquals(10.0, s.getErrorsPerSec(), 1e-9);
+        assertEquals(20.0 / 422, s.getErrorRate(), 1e-9);
+        assertEquals(200.0, s.getSensorTypeRates().get("TEMPERATURE"), 1e-9);
+        assertEquals(0.5, s.getSensorTypeRates().get("MOTION"), 1e-9);
+        // 421 latency samples: 400 spread over 1..400 ms, 21 small ones
+        assertEquals(190.0, s.getLatencyP50Ms(), 2.0);
+        assertEquals(396.0, s.getLatencyP99Ms(), 2.0);
+        assertEquals(400.0, s.getLatencyMaxMs(), 1.0);
+        assertEquals(7, s.getConnectedDevices());
+
+        telemetry.roll(t0 + TimeUnit.SECONDS.toNanos(3), 1_003_000L);
+        assertEquals(0.0, telemetry.getLatest().getReadingsPerSec());
+        assertEquals(0.0, telemetry.getLatest().getLatencyP99Ms());
+    }
+}
@@ -0,0 +1,54 @@
+package com.pratik.deviceSimulator.service;
+
+import com.pratik.deviceSimulator.config.SimulatorConfig;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SimulatorWorkExecutorTest {
+
+    @Test
+    void forEachRunsEveryItemWithinConcurrencyLimitAndWaits() throws Exception {
+        SimulatorConfig config = new SimulatorConfig();
+        config.setSendParallelism(8);
+        SimulatorWorkExecutor executor = new SimulatorWorkExecutor(config);
+        try {
+            List<Integer> items = IntStream.range(0, 500).boxed().toList();
+            AtomicInteger processed = new AtomicInteger();
+            AtomicInteger running = new AtomicInteger();
+            AtomicInteger maxRunning = new AtomicInteger();
+
+            executor.forEach(items, 3, i -> {
+                int now = running.incrementAndGet();
+                try {
+                    maxRunning.accumulateAndGet(now, Math::max);
+                    if (i % 50 == 0) throw new IllegalStateException("boom"); // must not stop siblings
+                    processed.incrementAndGet();
+                } finally {
+                    running.decrementAndGet();
+                }
+            });
+
+            assertEquals(490, processed.get());
+            assertTrue(maxRunning.get() <= 3, "max concurrent was " + maxRunning.get());
+        } finally {
+            executor.destroy();
+        }
+    }
+
+    @Test
+    void virtualModeFallsBackToPlatformBeforeJava21() {
+        SimulatorConfig config = new SimulatorConfig();
+        config.setExecutionMode(SimulatorConfig.ExecutionMode.VIRTUAL);
+        SimulatorWorkExecutor executor = new SimulatorWorkExecutor(config);
+        try {
+            assertEquals(Runtime.version().feature() >= 21, executor.isVirtual());
+        } finally {
+            executor.destroy();
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.pratik.deviceSimulator.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpaceSavingSketchTest {
+
+    @Test
+    void findsHeavyHittersInNoisyStream() {
+        SpaceSavingSketch sketch = new SpaceSavingSketch(16, 10_000);
+        for (int round = 0; round < 200; round++) {
+            sketch.offer(42, 5);
+            sketch.offer(7, 3);
+            for (int noise = 100 + round * 40; noise < 140 + round * 40; noise++) {
+                sketch.offer(noise, 1);
+            }
+        }
+
+        List<SpaceSavingSketch.Entry> top = sketch.top(2);
+        assertEquals(2, top.size());
+        assertEquals(42, top.get(0).getKey());
+        assertEquals(7, top.get(1).getKey());
+        assertTrue(top.get(0).getCount() - top.get(0).getError() <= 1_000);
+        assertTrue(top.get(0).getCount() >= 1_000);
+    }
+
+    @Test
+    void ignoresKeysOutsideKeySpaceUntilGrown() {
+        SpaceSavingSketch sketch = new SpaceSavingSketch(4, 2);
+        sketch.offer(5, 1);
+        assertTrue(sketch.top(4).isEmpty());
+
+        sketch.ensureKeySpace(10);
+        sketch.offer(5, 1);
+        assertEquals(5, sketch.top(4).get(0).getKey());
+
+        sketch.clear();
+        assertTrue(sketch.top(4).isEmpty());
+    }
+}
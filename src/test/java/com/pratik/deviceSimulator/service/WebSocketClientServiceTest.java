@@ -0,0 +1,77 @@
+package com.pratik.deviceSimulator.service;
+
+import com.pratik.deviceSimulator.config.JacksonConfig;
+import com.pratik.deviceSimulator.config.SimulatorConfig;
+import com.pratik.deviceSimulator.dto.DeviceReadingsDto;
+import com.pratik.deviceSimulator.dto.SensorRegistrationDto;
+import com.pratik.deviceSimulator.model.SimulatedDevice;
+import com.pratik.deviceSimulator.transport.StompSensorTransport;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WebSocketClientServiceTest {
+
+    private final MappingJackson2MessageConverter converter =
+            WebSocketClientService.messageConverter(new JacksonConfig().objectMapper());
+
+    @Test
+    void converterRoundTripsReadingsWithTimestamps() {
+        SensorRegistrationDto reading = new SensorRegistrationDto(42L, 21.5, "TEMPERATURE", "°C", true);
+        reading.setTimestamp(LocalDateTime.of(2025, 3, 1, 10, 15, 30));
+        reading.setSequence(7L);
+        reading.setSentAtEpochNanos(1_700_000_000_123_456_789L);
+
+        Message<?> message = converter.toMessage(reading, null);
+        assertNotNull(message, "LocalDateTime must serialize");
+        SensorRegistrationDto back = (SensorRegistrationDto) converter.fromMessage(message, SensorRegistrationDto.class);
+
+        assertEquals(42L, back.getDeviceId());
+        assertEquals(reading.getTimestamp(), back.getTimestamp());
+        assertEquals(7L, back.getSequence());
+        assertEquals(1_700_000_000_123_456_789L, back.getSentAtEpochNanos());
+
+        DeviceReadingsDto grouped = new DeviceReadingsDto(42L, "gateway", true, 1);
+        grouped.getReadings().add(new DeviceReadingsDto.Reading("HUMIDITY", 55.0, "%", false));
+        assertNotNull(converter.toMessage(grouped, null));
+    }
+
+    @Test
+    void converterIgnoresFieldsTheAnalyserAdds() {
+        String broadcast = "{\"id\":9,\"deviceId\":42,\"value\":21.5,\"sensorType\":\"TEMPERATURE\","
+                + "\"timestamp\":\"2025-03-01T10:15:30\",\"sequence\":7,\"anomaly\":false}";
+        Message<byte[]> message = MessageBuilder.withPayload(broadcast.getBytes(StandardCharsets.UTF_8)).build();
+
+        SensorRegistrationDto back = (SensorRegistrationDto) converter.fromMessage(message, SensorRegistrationDto.class);
+
+        assertEquals(7L, back.getSequence());
+        assertEquals(LocalDateTime.of(2025, 3, 1, 10, 15, 30), back.getTimestamp());
+    }
+
+    @Test
+    void stompTransportFailsSendsWithoutSessionAndSummarisesTheCause() {
+        SimulatorConfig config = new SimulatorConfig();
+        config.setWebsocketUrl(null);
+        LogSampler sampler = new LogSampler(config);
+        StompSensorTransport transport = new StompSensorTransport(
+                new WebSocketClientService(config, new JacksonConfig().objectMapper(), sampler));
+
+        for (int i = 0; i < 100; i++) {
+            CompletableFuture<Void> result = transport.send(new SimulatedDevice(1L, List.of("TEMPERATURE")),
+                    new SensorRegistrationDto(1L, 20.0, "TEMPERATURE", "°C", true));
+            assertTrue(result.isCompletedExceptionally());
+        }
+
+        // one summary per cause instead of a warning per send
+        List<LogSampler.Summary> summaries = sampler.drain();
+        assertTrue(summaries.stream().anyMatch(s -> s.event().equals("WebSocket connects skipped") && s.count() == 100));
+    }
+}
@@ -0,0 +1,222 @@
+package com.pratik.deviceSimulator.transport;
+
+import com.pratik.deviceSimulator.config.SimulatorConfig;
+import com.pratik.deviceSimulator.dto.DeviceReadingsDto;
+import com.pratik.deviceSimulator.dto.SensorRegistrationDto;
+import com.pratik.deviceSimulator.model.SimulatedDevice;
+import com.pratik.deviceSimulator.service.DeviceProfiles;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImpairedSensorTransportTest {
+
+    /** Delegate stand-in: records every message it is asked to send. */
+    static class RecordingTransport implements SensorTransport {
+        final List<SensorRegistrationDto> sent = new CopyOnWriteArrayList<>();
+        final List<Long> sentAtNanos = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String name() {
+            return "recording";
+        }
+
+        @Override
+        public CompletableFuture<Void> send(SimulatedDevice device, SensorRegistrationDto reading) {
+            sent.add(reading);
+            sentAtNanos.add(System.nanoTime());
+            return CompletableFuture.completedFuture(null);
+        }
+
+        @Override
+        public CompletableFuture<Void> sendReadings(SimulatedDevice device, DeviceReadingsDto readings) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private final TimerWheel wheel = new TimerWheel(1, 64, Runnable::run);
+    private final RecordingTransport delegate = new RecordingTransport();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @AfterEach
+    void tearDown() {
+        wheel.close();
+    }
+
+    private ImpairedSensorTransport transport(SimulatorConfig.Impairment... impairments) {
+        return new ImpairedSensorTransport(delegate, List.of(impairments), wheel, registry);
+    }
+
+    private static SensorRegistrationDto reading() {
+        SensorRegistrationDto dto = new SensorRegistrationDto();
+        dto.setTimestamp(LocalDateTime.of(2025, 1, 1, 12, 0));
+        return dto;
+    }
+
+    private static SimulatedDevice device(long id, String profile) {
+        return new SimulatedDevice(id, DeviceProfiles.legacy(0, profile, List.of("TEMPERATURE")));
+    }
+
+    @Test
+    void timerWheelFiresEveryTaskAndNeverEarly() throws Exception {
+        int tasks = 200;
+        CountDownLatch done = new CountDownLatch(tasks);
+        AtomicInteger early = new AtomicInteger();
+        for (int i = 0; i < tasks; i++) {
+            long delay = TimeUnit.MILLISECONDS.toNanos(1 + i % 100); // some span more than one turn of 64 slots
+            long due = System.nanoTime() + delay;
+            wheel.schedule(delay, () -> {
+                if (System.nanoTime() < due) early.incrementAndGet();
+                done.countDown();
+            });
+        }
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(0, early.get());
+        assertEquals(0, wheel.pending());
+    }
+
+    @Test
+    void timerWheelParksWhileIdleAndResumesOnSchedule() throws Exception {
+        awaitIdle();
+
+        CountDownLatch fired = new CountDownLatch(1);
+        long due = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(5);
+        wheel.schedule(TimeUnit.MILLISECONDS.toNanos(5), fired::countDown);
+
+        assertTrue(fired.await(1, TimeUnit.SECONDS));
+        assertTrue(System.nanoTime() >= due);
+        awaitIdle();
+    }
+
+    private void awaitIdle() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+        while (!wheel.isIdle() && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertTrue(wheel.isIdle(), "worker parks when nothing is pending");
+    }
+
+    @Test
+    void dropCompletesWithoutReachingDelegate() {
+        SimulatorConfig.Impairment rule = new SimulatorConfig.Impairment();
+        rule.setDropProbability(1.0);
+        ImpairedSensorTransport transport = transport(rule);
+
+        CompletableFuture<Void> result = transport.send(device(1L, "default"), reading());
+
+        assertTrue(result.isDone());
+        assertFalse(result.isCompletedExceptionally());
+        assertTrue(delegate.sent.isEmpty());
+        assertEquals(1.0, registry.counter("simulator.impairment.dropped").count());
+    }
+
+    @Test
+    void duplicateSendsTwice() throws Exception {
+        SimulatorConfig.Impairment rule = new SimulatorConfig.Impairment();
+        rule.setDuplicateProbability(1.0);
+        transport(rule).send(device(1L, "default"), reading()).get(1, TimeUnit.SECONDS);
+
+        assertEquals(2, delegate.sent.size());
+        assertEquals(1.0, registry.counter("simulator.impairment.duplicated").count());
+    }
+
+    @Test
+    void delayedSendCompletesAfterDelay() throws Exception {
+        SimulatorConfig.Impairment rule = new SimulatorConfig.Impairment();
+        rule.setDelayMs(30);
+        long start = System.nanoTime();
+        SensorRegistrationDto dto = reading();
+        dto.setDispatchedAtNanos(start);
+        CompletableFuture<Void> result = transport(rule).send(device(1L, "default"), dto);
+
+        assertTrue(delegate.sent.isEmpty());
+        result.get(2, TimeUnit.SECONDS);
+        assertEquals(1, delegate.sent.size());
+        assertTrue(delegate.sentAtNanos.get(0) - start >= TimeUnit.MILLISECONDS.toNanos(30));
+        assertTrue(dto.getDispatchedAtNanos() - start >= TimeUnit.MILLISECONDS.toNanos(30),
+                "latency is measured from the delegate send, not from before the injected delay");
+    }
+
+    @Test
+    void duplicateDoesNotMoveDispatchTime() throws Exception {
+        SimulatorConfig.Impairment rule = new SimulatorConfig.Impairment();
+        rule.setDelayMs(5);
+        rule.setDuplicateProbability(1.0);
+        rule.setReorderWindowMs(50);
+        SensorRegistrationDto dto = reading();
+        transport(rule).send(device(1L, "default"), dto).get(1, TimeUnit.SECONDS);
+        long dispatched = dto.getDispatchedAtNanos();
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (delegate.sent.size() < 2 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+
+        assertEquals(2, delegate.sent.size());
+        assertEquals(dispatched, dto.getDispatchedAtNanos());
+    }
+
+    @Test
+    void clockSkewShiftsTimestampWithinBound() {
+        SimulatorConfig.Impairment rule = new SimulatorConfig.Impairment();
+        rule.setClockSkewMs(5000);
+        ImpairedSensorTransport transport = transport(rule);
+        SensorRegistrationDto first = reading();
+        SensorRegistrationDto second = reading();
+        LocalDateTime original = first.getTimestamp();
+
+        transport.send(device(7L, "default"), first);
+        transport.send(device(7L, "default"), second);
+
+        long shiftMs = Duration.between(original, first.getTimestamp()).toMillis();
+        assertNotEquals(0, shiftMs);
+        assertTrue(Math.abs(shiftMs) <= 5000);
+        assertEquals(first.getTimestamp(), second.getTimestamp(), "a device's offset is fixed");
+    }
+
+    @Test
+    void rulesSelectByProfileAndStableDeviceFraction() {
+        SimulatorConfig.Impairment rule = new SimulatorConfig.Impairment();
+        rule.setProfiles(List.of("gateway"));
+        rule.setDeviceFraction(0.25);
+        ImpairedSensorTransport transport = transport(rule);
+
+        assertNull(transport.ruleFor(device(1L, "sensor")));
+        int matched = 0;
+        for (long id = 1; id <= 4000; id++) {
+            boolean hit = transport.ruleFor(device(id, "gateway")) != null;
+            assertEquals(hit, transport.ruleFor(device(id, "gateway")) != null);
+            if (hit) matched++;
+        }
+        assertTrue(matched > 800 && matched < 1200, "matched " + matched);
+    }
+
+    @Test
+    void paretoDelaysAreCapped() {
+        SimulatorConfig.Impairment cfg = new SimulatorConfig.Impairment();
+        cfg.setDelayDistribution(SimulatorConfig.Impairment.DelayDistribution.PARETO);
+        cfg.setDelayMs(1000);
+        cfg.setDelayShape(0.1);
+        ImpairedSensorTransport.Rule rule = new ImpairedSensorTransport.Rule(0, cfg);
+        for (int i = 0; i < 1000; i++) {
+            long d = rule.sampleDelayNanos(ThreadLocalRandom.current());
+            assertTrue(d >= TimeUnit.MILLISECONDS.toNanos(1000) && d <= ImpairedSensorTransport.MAX_DELAY_NANOS);
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.pratik.deviceSimulator.transport;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.pratik.deviceSimulator.config.SimulatorConfig;
+import com.pratik.deviceSimulator.dto.SensorRegistrationDto;
+import com.pratik.deviceSimulator.model.SimulatedDevice;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MqttSensorTransportTest {
+
+    /** In-process stand-in for a broker connection: records every publish. */
+    static class RecordingPublisher implements MqttPublisher {
+        final String clientId;
+        final List<String> topics = new CopyOnWriteArrayList<>();
+        final List<String> payloads = new CopyOnWriteArrayList<>();
+        final List<Integer> qos = new CopyOnWriteArrayList<>();
+
+        RecordingPublisher(String clientId) {
+            this.clientId = clientId;
+        }
+
+        @Override
+        public CompletableFuture<Void> publish(String topic, byte[] payload, int qos) {
+            topics.add(topic);
+            payloads.add(new String(payload, StandardCharsets.UTF_8));
+            this.qos.add(qos);
+            return CompletableFuture.completedFuture(null);
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private final List<RecordingPublisher> opened = new CopyOnWriteArrayList<>();
+
+    private static ObjectMapper mapper() {
+        return new ObjectMapper().registerModule(new JavaTimeModule());
+    }
+
+    private MqttSensorTransport transport(SimulatorConfig.Mqtt settings) {
+        return new MqttSensorTransport(settings, mapper(), clientId -> {
+            RecordingPublisher p = new RecordingPublisher(clientId);
+            opened.add(p);
+            return p;
+        });
+    }
+
+    private static SimulatedDevice device(long id, int slot, Long registeredId) {
+        SimulatedDevice d = new SimulatedDevice(id, List.of("TEMPERATURE"));
+        d.setSlot(slot);
+        d.setRegisteredId(registeredId);
+        return d;
+    }
+
+    @Test
+    void publishesJsonToTemplatedTopicOverSharedConnections() {
+        SimulatorConfig.Mqtt settings = new SimulatorConfig.Mqtt();
+        settings.setSharedConnections(2);
+        settings.setQos(1);
+        MqttSensorTransport transport = transport(settings);
+
+        for (int i = 0; i < 10; i++) {
+            SimulatedDevice d = device(i + 1, i, 100L + i);
+            transport.send(d, new SensorRegistrationDto(d.getRegisteredId(), 21.5, "TEMPERATURE", "°C", true)).join();
+        }
+
+        assertEquals(2, transport.openConnections());
+        RecordingPublisher first = opened.get(0);
+        assertEquals("devices/100/TEMPERATURE", first.topics.get(0));
+        assertTrue(first.payloads.get(0).contains("\"value\":21.5"));
+        assertEquals(1, first.qos.get(0));
+        assertEquals(10, opened.stream().mapToInt(p -> p.topics.size()).sum());
+    }
+
+    @Test
+    void perDeviceSessionsUseOneClientPerDevice() {
+        SimulatorConfig.Mqtt settings = new SimulatorConfig.Mqtt();
+        settings.setSessionMode(SimulatorConfig.Mqtt.SessionMode.PER_DEVICE);
+        settings.setTopicTemplate("fleet/{localId}/{sensorType}");
+        MqttSensorTransport transport = transport(settings);
+
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < 5; i++) {
+                SimulatedDevice d = device(i + 1, i, null);
+                transport.send(d, new SensorRegistrationDto(d.getId(), 1.0, "MOTION", "binary", true)).join();
+            }
+        }
+
+        assertEquals(5, transport.openConnections());
+        assertTrue(opened.stream().anyMatch(p -> p.clientId.equals("simulator-3") && p.topics.get(0).equals("fleet/3/MOTION")));
+    }
+
+    @Test
+    void connectFailureSurfacesAsFailedSend() {
+        MqttSensorTransport transport = new MqttSensorTransport(new SimulatorConfig.Mqtt(), mapper(), clientId -> {
+            throw new IllegalStateException("broker down");
+        });
+
+        CompletableFuture<Void> result = transport.send(device(1, 0, null), new SensorRegistrationDto(1L, 1.0, "MOTION", "binary", true));
+        assertTrue(result.isCompletedExceptionally());
+        assertEquals("broker down", assertThrows(CompletionException.class, result::join).getCause().getMessage());
+    }
+
+    @Test
+    void slowConnectOnlyHoldsUpItsOwnClient() throws Exception {
+        SimulatorConfig.Mqtt settings = new SimulatorConfig.Mqtt();
+        settings.setSharedConnections(2);
+        CountDownLatch release = new CountDownLatch(1);
+        MqttSensorTransport transport = new MqttSensorTransport(settings, mapper(), clientId -> {
+            if (clientId.endsWith("shared-0")) {
+                try {
+                    release.await(); // broker slow to accept this client
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return new RecordingPublisher(clientId);
+        });
+
+        SimulatedDevice slow = device(1, 0, null);
+        CompletableFuture<Void> blocked = CompletableFuture.runAsync(() ->
+                transport.send(slow, new SensorRegistrationDto(1L, 1.0, "MOTION", "binary", true)).join());
+        SimulatedDevice other = device(2, 1, null);
+        transport.send(other, new SensorRegistrationDto(2L, 1.0, "MOTION", "binary", true)).get(1, TimeUnit.SECONDS);
+
+        assertFalse(blocked.isDone());
+        release.countDown();
+        blocked.get(1, TimeUnit.SECONDS);
+        assertEquals(2, transport.openConnections());
+    }
+}
@@ -0,0 +1,56 @@
+package com.pratik.deviceSimulator.transport;
+
+import org.eclipse.paho.client.mqttv3.IMqttToken;
+import org.eclipse.paho.client.mqttv3.MqttAsyncClient;
+import org.eclipse.paho.client.mqttv3.MqttConnectOptions;
+import org.eclipse.paho.client.mqttv3.MqttException;
+import org.eclipse.paho.client.mqttv3.persist.MemoryPersistence;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PahoMqttPublisherTest {
+
+    /** Client whose connect never succeeds; records whether it was torn down. */
+    static class FailingClient extends MqttAsyncClient {
+        boolean disconnectedForcibly;
+        boolean closed;
+        boolean failConnect = true;
+
+        FailingClient() throws MqttException {
+            super("tcp://127.0.0.1:1", "sim-test", new MemoryPersistence());
+        }
+
+        @Override
+        public IMqttToken connect(MqttConnectOptions options) throws MqttException {
+            if (failConnect) throw new MqttException(MqttException.REASON_CODE_CLIENT_TIMEOUT);
+            return super.connect(options);
+        }
+
+        @Override
+        public void disconnectForcibly(long quiesceTimeout, long disconnectTimeout, boolean sendDisconnectPacket) throws MqttException {
+            disconnectedForcibly = true;
+            super.disconnectForcibly(quiesceTimeout, disconnectTimeout, sendDisconnectPacket);
+        }
+
+        @Override
+        public void close(boolean force) throws MqttException {
+            closed = true;
+            super.close(force);
+        }
+    }
+
+    @Test
+    void failedConnectClosesTheClient() throws Exception {
+        FailingClient client = new FailingClient();
+
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> new PahoMqttPublisher(client, 10, 100));
+
+        assertTrue(e.getMessage().contains("sim-test"));
+        assertTrue(client.disconnectedForcibly);
+        assertTrue(client.closed);
+        client.failConnect = false;
+        MqttException reuse = assertThrows(MqttException.class, () -> client.connect(new MqttConnectOptions()));
+        assertEquals(MqttException.REASON_CODE_CLIENT_CLOSED, reuse.getReasonCode());
+    }
+}